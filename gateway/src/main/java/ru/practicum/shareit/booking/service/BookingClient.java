@@ -2,58 +2,66 @@ package ru.practicum.shareit.booking.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.cache.ResponseCache;
+import ru.practicum.shareit.common.coalescing.RequestCoalescer;
+import ru.practicum.shareit.common.resilience.UpstreamGuards;
+import ru.practicum.shareit.common.transport.ServerTransportFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final Set<String> INVALIDATED_REGIONS = Set.of(API_PREFIX, "/items");
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory.class)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                         UpstreamGuards guards, ResponseCache responseCache, RequestCoalescer coalescer) {
+        super(serverUrl, API_PREFIX, transportFactory, guards, responseCache, coalescer, INVALIDATED_REGIONS);
     }
 
-    public ResponseEntity<?> postBooking(BookingCreationDto dto, Long userId) {
+    public CompletableFuture<ResponseEntity<?>> postBooking(BookingCreationDto dto, Long userId) {
         return post("/", userId, dto);
     }
 
-    public ResponseEntity<?> approveBooking(long id, Long userId, Boolean approved) {
+    public CompletableFuture<ResponseEntity<?>> approveBooking(long id, Long userId, Boolean approved) {
         Map<String, Object> params = Map.of("approved", approved);
         return patch("/" + id, userId, params);
     }
 
-    public ResponseEntity<?> getBooking(long id, Long userId) {
+    public CompletableFuture<ResponseEntity<?>> getBooking(long id, Long userId) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<?> getUserBookings(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> params = getRequestParams(state, from, size);
+    public CompletableFuture<ResponseEntity<?>> getUserBookings(
+            Long userId, BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> params = getRequestParams(state, from, size, cursor);
         return get("/", userId, params);
     }
 
-    public ResponseEntity<?> getUserItemsBookings(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> params = getRequestParams(state, from, size);
+    public CompletableFuture<ResponseEntity<?>> getUserItemsBookings(
+            Long userId, BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> params = getRequestParams(state, from, size, cursor);
         return get("/owner", userId, params);
     }
 
-    private Map<String, Object> getRequestParams(BookingState state, Integer from, Integer size) {
+    private Map<String, Object> getRequestParams(BookingState state, Integer from, Integer size, String cursor) {
         Map<String, Object> params = new HashMap<>();
-        if (from != null && size != null) {
+        if (cursor != null) {
+            params.put("cursor", cursor);
+            if (size != null) {
+                params.put("size", size);
+            }
+        } else if (from != null && size != null) {
             params.put("from", from);
             params.put("size", size);
         }
@@ -1,102 +1,136 @@
 package ru.practicum.shareit.common;
 
-import org.springframework.http.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.common.cache.EntityTags;
+import ru.practicum.shareit.common.cache.ResponseCache;
+import ru.practicum.shareit.common.coalescing.RequestCoalescer;
+import ru.practicum.shareit.common.resilience.UpstreamGuard;
+import ru.practicum.shareit.common.resilience.UpstreamGuards;
+import ru.practicum.shareit.common.transport.ServerTransport;
+import ru.practicum.shareit.common.transport.ServerTransportFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 public class BaseClient {
-    protected final RestTemplate rest;
-
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    protected final ServerTransport transport;
+    private final UpstreamGuard guard;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer coalescer;
+    private final String cacheRegion;
+    private final Set<String> invalidatedRegions;
+
+    public BaseClient(String serverUrl, String apiPrefix, ServerTransportFactory transportFactory,
+                      UpstreamGuards guards, ResponseCache responseCache, RequestCoalescer coalescer,
+                      Set<String> invalidatedRegions) {
+        this.guard = guards.forRoute(apiPrefix);
+        this.transport = transportFactory.create(serverUrl + apiPrefix, guard.getTimeout());
+        this.responseCache = responseCache;
+        this.coalescer = coalescer;
+        this.cacheRegion = apiPrefix;
+        this.invalidatedRegions = invalidatedRegions;
+    }
+
+    protected CompletableFuture<ResponseEntity<?>> get(String path) {
+        return get(path, null, null);
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
-
-        return responseBuilder.build();
+    protected CompletableFuture<ResponseEntity<?>> get(String path, long userId) {
+        return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path) {
-        return get(path, null, null);
+    protected CompletableFuture<ResponseEntity<?>> get(
+            String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
-        return get(path, userId, null);
+    protected CompletableFuture<ResponseEntity<?>> getCached(String path, Long userId) {
+        return getCached(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected CompletableFuture<ResponseEntity<?>> getCached(
+            String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String key = cacheKey(path, userId, parameters);
+        Optional<ResponseEntity<?>> cached = responseCache.get(key);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(notModifiedIfMatches(cached.get()));
+        }
+        long generation = responseCache.generation(cacheRegion);
+        return get(path, userId, parameters).thenApply(response -> {
+            if (response.getStatusCode() == HttpStatus.OK) {
+                responseCache.put(cacheRegion, key, response, generation);
+            }
+            return response;
+        });
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<?>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<?>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(
+    protected <T> CompletableFuture<ResponseEntity<?>> post(
             String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<?>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(
+    protected <T> CompletableFuture<ResponseEntity<?>> put(
             String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<?>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, @Nullable Map<String, Object> parameters) {
+    protected <T> CompletableFuture<ResponseEntity<?>> patch(
+            String path, long userId, @Nullable Map<String, Object> parameters) {
         return patch(path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<?>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(
+    protected <T> CompletableFuture<ResponseEntity<?>> patch(
             String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<?>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<?>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(
+    protected CompletableFuture<ResponseEntity<?>> delete(
             String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(
+    private <T> CompletableFuture<ResponseEntity<?>> makeAndSendRequest(
             HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
         if (parameters != null && !parameters.isEmpty()) {
             int counter = 0;
             StringBuilder pathBuilder = new StringBuilder(path);
@@ -107,17 +141,36 @@ public class BaseClient {
             path = pathBuilder.toString();
         }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        String uriTemplate = path;
+        HttpHeaders headers = defaultHeaders(userId);
+        if (method == HttpMethod.GET) {
+            forwardIfNoneMatch(headers);
+            String key = requestKey(path, userId, parameters, headers.getFirst(HttpHeaders.IF_NONE_MATCH));
+            return coalescer.coalesce(key, () -> guard.execute(
+                    () -> transport.exchange(method, uriTemplate, headers, parameters, null)));
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        CompletableFuture<ResponseEntity<?>> response = guard.execute(
+                () -> transport.exchange(method, uriTemplate, headers, parameters, body));
+        if (!responseCache.isEnabled()) {
+            return response;
+        }
+        return response.thenApply(serverResponse -> {
+            if (serverResponse.getStatusCode().is2xxSuccessful()) {
+                responseCache.invalidate(invalidatedRegions);
+            }
+            return serverResponse;
+        });
+    }
+
+    private String cacheKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String query = parameters == null ? "" : new TreeMap<>(parameters).toString();
+        return cacheRegion + path + query + "#" + userId;
+    }
+
+    private String requestKey(String path, Long userId, @Nullable Map<String, Object> parameters,
+                              @Nullable String ifNoneMatch) {
+        String query = parameters == null ? "" : new TreeMap<>(parameters).toString();
+        return cacheRegion + path + query + "#" + userId + "#" + ifNoneMatch;
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -129,4 +182,30 @@ public class BaseClient {
         }
         return headers;
     }
+
+    private ResponseEntity<?> notModifiedIfMatches(ResponseEntity<?> cached) {
+        String etag = cached.getHeaders().getETag();
+        if (!EntityTags.weaklyMatches(clientIfNoneMatch(), etag)) {
+            return cached;
+        }
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .build();
+    }
+
+    private void forwardIfNoneMatch(HttpHeaders headers) {
+        String ifNoneMatch = clientIfNoneMatch();
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+    }
+
+    @Nullable
+    private String clientIfNoneMatch() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+        }
+        return null;
+    }
 }
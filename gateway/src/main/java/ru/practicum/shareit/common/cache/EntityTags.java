@@ -0,0 +1,29 @@
+package ru.practicum.shareit.common.cache;
+
+import org.springframework.lang.Nullable;
+
+public final class EntityTags {
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY = "*";
+
+    private EntityTags() {
+    }
+
+    public static boolean weaklyMatches(@Nullable String ifNoneMatch, @Nullable String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag.trim());
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (ANY.equals(tag) || opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
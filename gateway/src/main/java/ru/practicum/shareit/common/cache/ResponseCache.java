@@ -0,0 +1,135 @@
+package ru.practicum.shareit.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+    private static final String CACHE_NAME = "server-responses";
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+    private final Counter invalidations;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled() && properties.getMaxSize() > 0;
+        this.maxSize = properties.getMaxSize();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.hits = counter(registry, "cache.gets", "result", "hit");
+        this.misses = counter(registry, "cache.gets", "result", "miss");
+        this.sizeEvictions = counter(registry, "cache.evictions", "cause", "size");
+        this.expirations = counter(registry, "cache.evictions", "cause", "expired");
+        this.invalidations = counter(registry, "cache.evictions", "cause", "invalidated");
+        Gauge.builder("cache.size", this, ResponseCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long generation(String region) {
+        return generations.computeIfAbsent(region, key -> new AtomicLong()).get();
+    }
+
+    public Optional<ResponseEntity<?>> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            if (System.nanoTime() - entry.storedAt > ttlNanos) {
+                entries.remove(key);
+                expirations.increment();
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(entry.response);
+        }
+    }
+
+    public void put(String region, String key, ResponseEntity<?> response, long generation) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation(region) != generation) {
+                return;
+            }
+            entries.put(key, new Entry(region, response, System.nanoTime()));
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxSize) {
+                eldest.next();
+                eldest.remove();
+                sizeEvictions.increment();
+            }
+        }
+    }
+
+    public void invalidate(Collection<String> regions) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            regions.forEach(region -> generations.computeIfAbsent(region, key -> new AtomicLong()).incrementAndGet());
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (regions.contains(iterator.next().region)) {
+                    iterator.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String tag, String value) {
+        return Counter.builder(name)
+                .tag("cache", CACHE_NAME)
+                .tag(tag, value)
+                .register(registry);
+    }
+
+    private static class Entry {
+        private final String region;
+        private final ResponseEntity<?> response;
+        private final long storedAt;
+
+        Entry(String region, ResponseEntity<?> response, long storedAt) {
+            this.region = region;
+            this.response = response;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private int maxSize = 10_000;
+    private Duration ttl = Duration.ofSeconds(30);
+}
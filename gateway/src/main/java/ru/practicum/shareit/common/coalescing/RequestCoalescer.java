@@ -0,0 +1,59 @@
+package ru.practicum.shareit.common.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+@EnableConfigurationProperties(RequestCoalescerProperties.class)
+public class RequestCoalescer {
+    private final boolean enabled;
+    private final Map<String, CompletableFuture<ResponseEntity<?>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public RequestCoalescer(RequestCoalescerProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.leaders = registry.counter("gateway.requests.coalescing", "role", "leader");
+        this.followers = registry.counter("gateway.requests.coalescing", "role", "follower");
+        Gauge.builder("gateway.requests.in.flight", inFlight, Map::size)
+                .register(registry);
+    }
+
+    public CompletableFuture<ResponseEntity<?>> coalesce(
+            String key, Supplier<CompletableFuture<ResponseEntity<?>>> request) {
+        if (!enabled) {
+            return request.get();
+        }
+        CompletableFuture<ResponseEntity<?>> shared = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            followers.increment();
+            return existing.copy();
+        }
+        leaders.increment();
+        try {
+            request.get().whenComplete((response, error) -> {
+                inFlight.remove(key, shared);
+                if (error != null) {
+                    shared.completeExceptionally(error);
+                } else {
+                    shared.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+            throw e;
+        }
+        return shared.copy();
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.common.coalescing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.coalescing")
+public class RequestCoalescerProperties {
+    private boolean enabled = true;
+}
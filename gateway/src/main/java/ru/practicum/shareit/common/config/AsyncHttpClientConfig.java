@@ -0,0 +1,26 @@
+package ru.practicum.shareit.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.common.transport.HttpClientTransportFactory;
+
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+@ConditionalOnProperty(prefix = "shareit-server.http-client", name = "transport", havingValue = "async")
+public class AsyncHttpClientConfig {
+    @Bean
+    public HttpClientTransportFactory asyncServerTransportFactory(HttpClientProperties properties,
+                                                                  ObjectMapper objectMapper) {
+        return new HttpClientTransportFactory(
+                properties.getAsyncThreads(),
+                properties.getConnectTimeout(),
+                properties.isHttp2(),
+                properties.getRequestCompressionThreshold().toBytes(),
+                properties.getWireFormat(),
+                objectMapper
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.common.transport.WireFormat;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+    private Transport transport = Transport.BLOCKING;
+    private int asyncThreads = 4;
+    private boolean http2 = false;
+    private DataSize requestCompressionThreshold = DataSize.ofKilobytes(2);
+    private WireFormat wireFormat = WireFormat.JSON;
+    private int maxTotal = 200;
+    private int maxPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    public enum Transport {
+        BLOCKING,
+        ASYNC
+    }
+}
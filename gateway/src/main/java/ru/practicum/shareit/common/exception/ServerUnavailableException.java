@@ -0,0 +1,10 @@
+package ru.practicum.shareit.common.exception;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ServerUnavailableException extends RuntimeException {
+    private final ErrorResponse errorResponse;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.common.exception;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class TooManyRequestsException extends RuntimeException {
+    private final ErrorResponse errorResponse;
+    private final long retryAfterSeconds;
+}
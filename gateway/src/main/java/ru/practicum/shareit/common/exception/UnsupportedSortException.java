@@ -0,0 +1,10 @@
+package ru.practicum.shareit.common.exception;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class UnsupportedSortException extends IllegalArgumentException {
+    private final ErrorResponse errorResponse;
+}
@@ -1,12 +1,18 @@
 package ru.practicum.shareit.common.exception.handler;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.common.exception.DatesValidationException;
 import ru.practicum.shareit.common.exception.ErrorResponse;
+import ru.practicum.shareit.common.exception.ServerTimeoutException;
+import ru.practicum.shareit.common.exception.ServerUnavailableException;
+import ru.practicum.shareit.common.exception.TooManyRequestsException;
+import ru.practicum.shareit.common.exception.UnsupportedSortException;
 import ru.practicum.shareit.common.exception.UnsupportedStateException;
 
 @Slf4j
@@ -27,4 +33,37 @@ public class ErrorHandler {
         log.warn("{} : {}", errorResponse.getReason(), errorResponse.getError());
         return errorResponse;
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleUnsupportedSort(UnsupportedSortException e) {
+        ErrorResponse errorResponse = e.getErrorResponse();
+        log.warn("{} : {}", errorResponse.getReason(), errorResponse.getError());
+        return errorResponse;
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerUnavailable(ServerUnavailableException e) {
+        ErrorResponse errorResponse = e.getErrorResponse();
+        log.warn("{} : {}", errorResponse.getReason(), errorResponse.getError());
+        return errorResponse;
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ErrorResponse handleServerTimeout(ServerTimeoutException e) {
+        ErrorResponse errorResponse = e.getErrorResponse();
+        log.warn("{} : {}", errorResponse.getReason(), errorResponse.getError());
+        return errorResponse;
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException e) {
+        ErrorResponse errorResponse = e.getErrorResponse();
+        log.warn("{} : {}", errorResponse.getReason(), errorResponse.getError());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
 }
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.common.exception.ErrorResponse;
+import ru.practicum.shareit.common.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String ANONYMOUS = "anonymous";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!rateLimiter.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST
+                || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        String controller = ((HandlerMethod) handler).getBeanType().getSimpleName();
+        String route = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String user = request.getHeader(USER_HEADER);
+        long waitNanos = rateLimiter.tryAcquire(controller, route, user == null ? ANONYMOUS : user);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException(
+                    ErrorResponse.builder()
+                            .reason("Rate limit")
+                            .error("Too many requests to " + route + " for user " + user + ".")
+                            .build(),
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))
+            );
+        }
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxBuckets = 100_000;
+    private Limit defaults = new Limit();
+    private Map<String, Limit> controllers = new HashMap<>();
+
+    public Limit getLimit(String controller) {
+        return controllers.getOrDefault(controller, defaults);
+    }
+
+    @Data
+    public static class Limit {
+        private int capacity = 50;
+        private double permitsPerSecond = 20;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+    private final RateLimitProperties properties;
+    private final MeterRegistry registry;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        Gauge.builder("gateway.rate.limit.buckets", buckets, Map::size)
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public long tryAcquire(String controller, String route, String user) {
+        long now = System.nanoTime();
+        String key = user + " " + route;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucket(properties.getLimit(controller), now));
+        }
+        long waitNanos = bucket.tryConsume(now);
+        registry.counter("gateway.rate.limit.requests",
+                "controller", controller, "result", waitNanos == 0 ? "allowed" : "rejected").increment();
+        return waitNanos;
+    }
+
+    private void evict(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        int target = properties.getMaxBuckets() * 9 / 10;
+        Iterator<TokenBucket> iterator = buckets.values().iterator();
+        while (buckets.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(RateLimitProperties.Limit limit, long now) {
+        this.nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getPermitsPerSecond());
+        this.burstNanos = nanosPerToken * Math.max(1, limit.getCapacity());
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    public long tryConsume(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean isFull(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+}
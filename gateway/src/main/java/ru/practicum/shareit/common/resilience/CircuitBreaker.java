@@ -0,0 +1,105 @@
+package ru.practicum.shareit.common.resilience;
+
+public class CircuitBreaker {
+    private final int failureRateThreshold;
+    private final int minimumNumberOfCalls;
+    private final long waitNanosInOpenState;
+    private final int permittedCallsInHalfOpenState;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(ResilienceProperties.Route route) {
+        this.failureRateThreshold = route.getFailureRateThreshold();
+        this.minimumNumberOfCalls = Math.min(route.getMinimumNumberOfCalls(), route.getSlidingWindowSize());
+        this.waitNanosInOpenState = route.getWaitDurationInOpenState().toNanos();
+        this.permittedCallsInHalfOpenState = Math.max(1, route.getPermittedCallsInHalfOpenState());
+        this.window = new boolean[route.getSlidingWindowSize()];
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < waitNanosInOpenState) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = permittedCallsInHalfOpenState;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses == permittedCallsInHalfOpenState) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumNumberOfCalls
+                    && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+                open();
+            }
+        }
+    }
+
+    private void record(boolean failed) {
+        if (window.length == 0) {
+            return;
+        }
+        if (recordedCalls == window.length) {
+            if (window[windowIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
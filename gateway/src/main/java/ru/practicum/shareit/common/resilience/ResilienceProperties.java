@@ -0,0 +1,29 @@
+package ru.practicum.shareit.common.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+    private Map<String, Route> routes = new HashMap<>();
+
+    public Route getRoute(String name) {
+        return routes.getOrDefault(name, new Route());
+    }
+
+    @Data
+    public static class Route {
+        private int maxConcurrentCalls = 50;
+        private Duration timeout = Duration.ofSeconds(10);
+        private int failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 3;
+    }
+}
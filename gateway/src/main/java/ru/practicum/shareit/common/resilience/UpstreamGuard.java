@@ -0,0 +1,132 @@
+package ru.practicum.shareit.common.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.common.exception.ErrorResponse;
+import ru.practicum.shareit.common.exception.ServerTimeoutException;
+import ru.practicum.shareit.common.exception.ServerUnavailableException;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+public class UpstreamGuard {
+    private final String route;
+    private final Duration timeout;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Timer latency;
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter timeouts;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+
+    UpstreamGuard(String route, ResilienceProperties.Route properties, MeterRegistry registry) {
+        this.route = route;
+        this.timeout = properties.getTimeout();
+        this.maxConcurrentCalls = properties.getMaxConcurrentCalls();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(properties);
+        this.latency = Timer.builder("gateway.upstream.latency")
+                .tag("route", route)
+                .register(registry);
+        this.successes = counter(registry, "success");
+        this.failures = counter(registry, "failure");
+        this.timeouts = counter(registry, "timeout");
+        this.bulkheadRejections = counter(registry, "bulkhead_full");
+        this.circuitRejections = counter(registry, "circuit_open");
+        Gauge.builder("gateway.upstream.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .tag("route", route)
+                .register(registry);
+        Gauge.builder("gateway.upstream.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .tag("route", route)
+                .register(registry);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public CompletableFuture<ResponseEntity<?>> execute(Supplier<CompletableFuture<ResponseEntity<?>>> call) {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejections.increment();
+            return CompletableFuture.failedFuture(unavailable(
+                    "All " + maxConcurrentCalls + " concurrent calls to " + route + " are in use."));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            circuitRejections.increment();
+            return CompletableFuture.failedFuture(unavailable(
+                    "Calls to " + route + " are suspended after repeated failures."));
+        }
+        long startedAt = System.nanoTime();
+        CompletableFuture<ResponseEntity<?>> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.handle((serverResponse, error) -> {
+            bulkhead.release();
+            latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (error == null) {
+                if (serverResponse.getStatusCode().is5xxServerError()) {
+                    onFailure();
+                } else {
+                    successes.increment();
+                    circuitBreaker.onSuccess();
+                }
+                return serverResponse;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (isTimeout(cause)) {
+                timeouts.increment();
+                circuitBreaker.onFailure();
+                throw new ServerTimeoutException(ErrorResponse.builder()
+                        .reason("Server timeout")
+                        .error("The server did not respond to " + route + " within " + timeout + ".")
+                        .build());
+            }
+            onFailure();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+        });
+    }
+
+    private void onFailure() {
+        failures.increment();
+        circuitBreaker.onFailure();
+    }
+
+    private Counter counter(MeterRegistry registry, String outcome) {
+        return registry.counter("gateway.upstream.calls", "route", route, "outcome", outcome);
+    }
+
+    private static ServerUnavailableException unavailable(String error) {
+        return new ServerUnavailableException(ErrorResponse.builder()
+                .reason("Server unavailable")
+                .error(error)
+                .build());
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
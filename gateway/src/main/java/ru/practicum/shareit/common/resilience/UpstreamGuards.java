@@ -0,0 +1,23 @@
+package ru.practicum.shareit.common.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class UpstreamGuards {
+    private final ResilienceProperties properties;
+    private final MeterRegistry registry;
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+
+    public UpstreamGuard forRoute(String apiPrefix) {
+        String route = apiPrefix.startsWith("/") ? apiPrefix.substring(1) : apiPrefix;
+        return guards.computeIfAbsent(route, name -> new UpstreamGuard(name, properties.getRoute(name), registry));
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.common.transport;
+
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+public final class ContentEncoding {
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    public static final String ACCEPTED = GZIP + ", " + DEFLATE;
+
+    private ContentEncoding() {
+    }
+
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    public static byte[] decode(byte[] body, @Nullable String encoding) {
+        if (body.length == 0 || encoding == null) {
+            return body;
+        }
+        try {
+            if (GZIP.equalsIgnoreCase(encoding)) {
+                return readAll(new GZIPInputStream(new ByteArrayInputStream(body)));
+            }
+            if (DEFLATE.equalsIgnoreCase(encoding)) {
+                return readAll(new InflaterInputStream(new ByteArrayInputStream(body)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return body;
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        try (inputStream) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.common.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class HttpClientTransport implements ServerTransport {
+    private final HttpClient httpClient;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
+    private final long compressionThreshold;
+    private final WireFormat wireFormat;
+
+    public HttpClientTransport(HttpClient httpClient, String baseUrl, ObjectMapper objectMapper,
+                               Duration readTimeout, long compressionThreshold, WireFormat wireFormat) {
+        this.httpClient = httpClient;
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(baseUrl);
+        this.objectMapper = objectMapper;
+        this.readTimeout = readTimeout;
+        this.compressionThreshold = compressionThreshold;
+        this.wireFormat = wireFormat;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<?>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                         @Nullable Map<String, Object> parameters,
+                                                         @Nullable Object body) {
+        URI uri = parameters != null ? uriBuilderFactory.expand(path, parameters) : uriBuilderFactory.expand(path);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header(HttpHeaders.ACCEPT_ENCODING, ContentEncoding.ACCEPTED);
+        headers.setAccept(wireFormat.getAccept());
+        headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+        request.method(method.name(), toBodyPublisher(body, request));
+
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::toGatewayResponse);
+    }
+
+    private HttpRequest.BodyPublisher toBodyPublisher(@Nullable Object body, HttpRequest.Builder request) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (bytes.length >= compressionThreshold) {
+            request.header(HttpHeaders.CONTENT_ENCODING, ContentEncoding.GZIP);
+            bytes = ContentEncoding.gzip(bytes);
+        }
+        return HttpRequest.BodyPublishers.ofByteArray(bytes);
+    }
+
+    private ResponseEntity<?> toGatewayResponse(HttpResponse<byte[]> response) {
+        byte[] body = ContentEncoding.decode(
+                response.body(), response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        return ServerResponses.toGatewayResponse(response.statusCode(), response.headers().map(), body);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.common.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HttpClientTransportFactory implements ServerTransportFactory, DisposableBean {
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final long compressionThreshold;
+    private final WireFormat wireFormat;
+
+    public HttpClientTransportFactory(int threads, Duration connectTimeout, boolean http2, long compressionThreshold,
+                                      WireFormat wireFormat, ObjectMapper objectMapper) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "shareit-server-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+        this.objectMapper = objectMapper;
+        this.compressionThreshold = compressionThreshold;
+        this.wireFormat = wireFormat;
+    }
+
+    @Override
+    public ServerTransport create(String baseUrl, Duration readTimeout) {
+        return new HttpClientTransport(httpClient, baseUrl, objectMapper, readTimeout, compressionThreshold,
+                wireFormat);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.common.transport;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+public class RequestCompressionInterceptor implements ClientHttpRequestInterceptor {
+    private final long threshold;
+
+    public RequestCompressionInterceptor(long threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (body.length < threshold || request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return execution.execute(request, body);
+        }
+        request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, ContentEncoding.GZIP);
+        return execution.execute(request, ContentEncoding.gzip(body));
+    }
+}
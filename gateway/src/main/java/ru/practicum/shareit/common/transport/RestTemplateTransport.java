@@ -0,0 +1,45 @@
+package ru.practicum.shareit.common.transport;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+    private final WireFormat wireFormat;
+
+    public RestTemplateTransport(RestTemplate rest, WireFormat wireFormat) {
+        this.rest = rest;
+        this.wireFormat = wireFormat;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<?>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                         @Nullable Map<String, Object> parameters,
+                                                         @Nullable Object body) {
+        headers.setAccept(wireFormat.getAccept());
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return CompletableFuture.completedFuture(ServerResponses.toGatewayResponse(
+                    e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray()));
+        }
+        return CompletableFuture.completedFuture(ServerResponses.toGatewayResponse(
+                shareitServerResponse.getStatusCodeValue(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody()));
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.common.transport;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class ServerResponseHeaders {
+    private static final Set<String> FORWARDED_HEADERS = Set.of(
+            "cache-control", "content-type", "etag", "last-modified", "location", "vary", "x-next-cursor"
+    );
+
+    private ServerResponseHeaders() {
+    }
+
+    public static HttpHeaders forwarded(@Nullable Map<String, List<String>> serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (FORWARDED_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.common.transport;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+public final class ServerResponses {
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ServerResponses() {
+    }
+
+    public static ResponseEntity<?> toGatewayResponse(int status, @Nullable Map<String, List<String>> serverHeaders,
+                                                      @Nullable byte[] body) {
+        HttpHeaders headers = ServerResponseHeaders.forwarded(serverHeaders);
+        if (body == null || body.length == 0) {
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+        if (SMILE.isCompatibleWith(headers.getContentType())) {
+            body = smileToJson(body);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    private static byte[] smileToJson(byte[] smile) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = SMILE_FACTORY.createParser(smile);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toByteArray();
+    }
+}
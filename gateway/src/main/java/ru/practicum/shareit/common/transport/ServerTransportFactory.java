@@ -0,0 +1,7 @@
+package ru.practicum.shareit.common.transport;
+
+import java.time.Duration;
+
+public interface ServerTransportFactory {
+    ServerTransport create(String baseUrl, Duration readTimeout);
+}
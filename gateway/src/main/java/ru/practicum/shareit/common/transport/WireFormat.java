@@ -0,0 +1,20 @@
+package ru.practicum.shareit.common.transport;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+public enum WireFormat {
+    JSON(List.of(MediaType.APPLICATION_JSON)),
+    SMILE(List.of(ServerResponses.SMILE, MediaType.APPLICATION_JSON));
+
+    private final List<MediaType> accept;
+
+    WireFormat(List<MediaType> accept) {
+        this.accept = accept;
+    }
+
+    public List<MediaType> getAccept() {
+        return accept;
+    }
+}
@@ -2,16 +2,23 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.exception.DatesValidationException;
+import ru.practicum.shareit.common.exception.ErrorResponse;
+import ru.practicum.shareit.common.exception.UnsupportedSortException;
 import ru.practicum.shareit.item.service.ItemClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchSort;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Validated
@@ -22,52 +29,95 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<?> addItem(@RequestHeader("X-Sharer-User-id") Long userId,
-                                     @Valid @RequestBody ItemCreationDto itemDto) {
+    public CompletableFuture<ResponseEntity<?>> addItem(@RequestHeader("X-Sharer-User-id") Long userId,
+                                                        @Valid @RequestBody ItemCreationDto itemDto) {
         log.info("Post /items (X-Sharer-User-id = {}). Request body : {}", userId, itemDto);
         return itemClient.postItem(itemDto, userId);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<?> updateItem(@RequestHeader("X-Sharer-User-id") Long userId,
-                                        @Valid @RequestBody ItemDto itemDto,
-                                        @PathVariable long id) {
+    public CompletableFuture<ResponseEntity<?>> updateItem(@RequestHeader("X-Sharer-User-id") Long userId,
+                                                           @Valid @RequestBody ItemDto itemDto,
+                                                           @PathVariable long id) {
         log.info("Patch /items/{} (X-Sharer-User-id = {}). Request body : {}", id, userId, itemDto);
         return itemClient.patchItem(itemDto, id, userId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getItem(@RequestHeader("X-Sharer-User-id") Long userId,
-                                     @PathVariable long id) {
+    public CompletableFuture<ResponseEntity<?>> getItem(@RequestHeader("X-Sharer-User-id") Long userId,
+                                                        @PathVariable long id) {
         log.info("GET /items/{}", id);
         return itemClient.getItem(id, userId);
     }
 
+    @GetMapping("/{id}/availability")
+    public CompletableFuture<ResponseEntity<?>> getItemAvailability(
+            @RequestHeader("X-Sharer-User-id") Long userId,
+            @PathVariable long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /items/{}/availability?from={}&to={}", id, from, to);
+        validateAvailabilityPeriod(from, to);
+        return itemClient.getItemAvailability(id, userId, from, to);
+    }
+
     @GetMapping
-    public ResponseEntity<?> getItems(@RequestHeader("X-Sharer-User-id") Long userId,
-                                      @RequestParam(required = false) Integer from,
-                                      @RequestParam(required = false) Integer size) {
+    public CompletableFuture<ResponseEntity<?>> getItems(@RequestHeader("X-Sharer-User-id") Long userId,
+                                                         @RequestParam(required = false) Integer from,
+                                                         @RequestParam(required = false) Integer size) {
         log.info("GET /items?from={}&size={} (X-Sharer-User-id = {})", from, size, userId);
         return itemClient.getItems(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<?> searchItems(@RequestHeader("X-Sharer-User-id") Long userId,
-                                         @RequestParam String text,
-                                         @RequestParam(required = false) Integer from,
-                                         @RequestParam(required = false) Integer size) {
-        log.info("GET /items/search?text={}&from={}&size={}", text, from, size);
+    public CompletableFuture<ResponseEntity<?>> searchItems(
+            @RequestHeader("X-Sharer-User-id") Long userId,
+            @RequestParam String text,
+            @RequestParam(required = false, defaultValue = "ID") String sort,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer size) {
+        log.info("GET /items/search?text={}&sort={}&from={}&size={}", text, sort, from, size);
+        ItemSearchSort searchSort = validateSearchSort(sort);
         if (text.isBlank()) {
-            return ResponseEntity.ok(List.of());
+            return CompletableFuture.completedFuture(ResponseEntity.ok(List.of()));
+        }
+        return itemClient.searchItems(userId, text, searchSort, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public CompletableFuture<ResponseEntity<?>> suggestItemNames(@RequestHeader("X-Sharer-User-id") Long userId,
+                                                                 @RequestParam String prefix) {
+        log.info("GET /items/suggest?prefix={}", prefix);
+        if (prefix.isBlank()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(List.of()));
         }
-        return itemClient.searchItems(userId, text, from, size);
+        return itemClient.suggestItemNames(userId, prefix);
     }
 
     @PostMapping("/{id}/comment")
-    public ResponseEntity<?> addComment(@RequestHeader("X-Sharer-User-id") Long userId,
-                                        @Valid @RequestBody CommentDto commentDto,
-                                        @PathVariable long id) {
+    public CompletableFuture<ResponseEntity<?>> addComment(@RequestHeader("X-Sharer-User-id") Long userId,
+                                                           @Valid @RequestBody CommentDto commentDto,
+                                                           @PathVariable long id) {
         log.info("POST /items/{}/comment (X-Sharer-User-id = {}). Request body : {}", id, userId, commentDto);
         return itemClient.postComment(commentDto, id, userId);
     }
+
+    private void validateAvailabilityPeriod(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new DatesValidationException(ErrorResponse.builder()
+                    .reason("Availability dates")
+                    .error("The end of the period must be later than its start!")
+                    .build()
+            );
+        }
+    }
+
+    private ItemSearchSort validateSearchSort(String sort) {
+        return ItemSearchSort.fromString(sort)
+                .orElseThrow(() -> new UnsupportedSortException(ErrorResponse.builder()
+                        .reason("Sort parameter")
+                        .error("Unknown sort: " + sort)
+                        .build()
+                ));
+    }
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Optional;
+
+public enum ItemSearchSort {
+    ID, RELEVANCE;
+
+    public static Optional<ItemSearchSort> fromString(String sort) {
+        try {
+            return Optional.of(ItemSearchSort.valueOf(sort.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -3,46 +3,59 @@ package ru.practicum.shareit.item.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.cache.ResponseCache;
+import ru.practicum.shareit.common.coalescing.RequestCoalescer;
+import ru.practicum.shareit.common.resilience.UpstreamGuards;
+import ru.practicum.shareit.common.transport.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchSort;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final Set<String> INVALIDATED_REGIONS = Set.of(API_PREFIX, "/bookings", "/requests");
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory.class)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                      UpstreamGuards guards, ResponseCache responseCache, RequestCoalescer coalescer) {
+        super(serverUrl, API_PREFIX, transportFactory, guards, responseCache, coalescer, INVALIDATED_REGIONS);
     }
 
-    public ResponseEntity<?> postItem(ItemCreationDto dto, Long userId) {
+    public CompletableFuture<ResponseEntity<?>> postItem(ItemCreationDto dto, Long userId) {
         return post("/", userId, dto);
     }
 
-    public ResponseEntity<?> patchItem(ItemDto dto, long id, Long userId) {
+    public CompletableFuture<ResponseEntity<?>> patchItem(ItemDto dto, long id, Long userId) {
         return patch("/" + id, userId, dto);
     }
 
-    public ResponseEntity<?> getItem(long id, Long userId) {
-        return get("/" + id, userId);
+    public CompletableFuture<ResponseEntity<?>> getItem(long id, Long userId) {
+        return getCached("/" + id, userId);
     }
 
-    public ResponseEntity<?> getItems(Long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<?>> getItemAvailability(
+            long id, Long userId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                "to", to.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+        );
+        return get("/" + id + "/availability", userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<?>> getItems(Long userId, Integer from, Integer size) {
         if (from == null || size == null) {
             return get("/", userId);
         }
@@ -53,9 +66,11 @@ public class ItemClient extends BaseClient {
         return get("?size={size}&from={from}", userId, parameters);
     }
 
-    public ResponseEntity<?> searchItems(Long userId, String text, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<?>> searchItems(
+            Long userId, String text, ItemSearchSort sort, Integer from, Integer size) {
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("text", text);
+        parameters.put("sort", sort);
         if (from != null && size != null) {
             parameters.put("from", from);
             parameters.put("size", size);
@@ -64,7 +79,11 @@ public class ItemClient extends BaseClient {
         return get("/search", userId, parameters);
     }
 
-    public ResponseEntity<?> postComment(CommentDto dto, long id, Long userId) {
+    public CompletableFuture<ResponseEntity<?>> suggestItemNames(Long userId, String prefix) {
+        return get("/suggest", userId, Map.of("prefix", prefix));
+    }
+
+    public CompletableFuture<ResponseEntity<?>> postComment(CommentDto dto, long id, Long userId) {
         return post("/" + id + "/comment", userId, dto);
     }
 }
@@ -8,6 +8,7 @@ import ru.practicum.shareit.request.service.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -17,29 +18,29 @@ public class ItemRequestController {
     private final ItemRequestClient client;
 
     @PostMapping
-    public ResponseEntity<?> postItemRequest(@Valid @RequestBody ItemRequestCreationDto dto,
-                                             @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public CompletableFuture<ResponseEntity<?>> postItemRequest(@Valid @RequestBody ItemRequestCreationDto dto,
+                                                                @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Post /requests (X-Sharer-User-id = {}). Request body : {}", userId, dto);
         return client.postRequest(dto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<?> getUserItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public CompletableFuture<ResponseEntity<?>> getUserItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Get /requests (X-Sharer-User-id = {})", userId);
         return client.getUserRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<?> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(required = false) Integer from,
-                                                @RequestParam(required = false) Integer size) {
+    public CompletableFuture<ResponseEntity<?>> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @RequestParam(required = false) Integer from,
+                                                                   @RequestParam(required = false) Integer size) {
         log.info("Get /requests/all?from={}&size={} (X-Sharer-User-id = {})", from, size, userId);
         return client.getAllItemRequests(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<?> getRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                        @PathVariable Long requestId) {
+    public CompletableFuture<ResponseEntity<?>> getRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @PathVariable Long requestId) {
         log.info("Get /requests/{}", requestId);
         return client.getRequest(requestId, userId);
     }
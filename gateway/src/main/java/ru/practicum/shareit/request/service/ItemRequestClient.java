@@ -2,42 +2,43 @@ package ru.practicum.shareit.request.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.cache.ResponseCache;
+import ru.practicum.shareit.common.coalescing.RequestCoalescer;
+import ru.practicum.shareit.common.resilience.UpstreamGuards;
+import ru.practicum.shareit.common.transport.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private static final Set<String> INVALIDATED_REGIONS = Set.of(API_PREFIX);
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory.class)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                             UpstreamGuards guards, ResponseCache responseCache, RequestCoalescer coalescer) {
+        super(serverUrl, API_PREFIX, transportFactory, guards, responseCache, coalescer, INVALIDATED_REGIONS);
     }
 
-    public ResponseEntity<?> postRequest(ItemRequestCreationDto dto, Long userId) {
+    public CompletableFuture<ResponseEntity<?>> postRequest(ItemRequestCreationDto dto, Long userId) {
         return post("/", userId, dto);
     }
 
-    public ResponseEntity<?> getRequest(long requestId, Long userId) {
-        return get("/" + requestId, userId);
+    public CompletableFuture<ResponseEntity<?>> getRequest(long requestId, Long userId) {
+        return getCached("/" + requestId, userId);
     }
 
-    public ResponseEntity<?> getUserRequests(Long userId) {
+    public CompletableFuture<ResponseEntity<?>> getUserRequests(Long userId) {
         return get("/", userId);
     }
 
-    public ResponseEntity<?> getAllItemRequests(Long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<?>> getAllItemRequests(Long userId, Integer from, Integer size) {
         if (from != null && size != null) {
             Map<String, Object> params = Map.of(
                     "from", from,
@@ -9,6 +9,7 @@ import ru.practicum.shareit.user.dto.UserCreationDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -18,31 +19,31 @@ public class UserController {
     private final UserClient client;
 
     @PostMapping
-    public ResponseEntity<?> createUser(@Valid @RequestBody UserCreationDto userDto) {
+    public CompletableFuture<ResponseEntity<?>> createUser(@Valid @RequestBody UserCreationDto userDto) {
         log.info("POST /users. Request body : {}", userDto);
         return client.postUser(userDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<?> updateUser(@Valid @RequestBody UserDto userDto, @PathVariable long id) {
+    public CompletableFuture<ResponseEntity<?>> updateUser(@Valid @RequestBody UserDto userDto, @PathVariable long id) {
         log.info("PATCH /users/{}. Request body : {}", id, userDto);
         return client.patchUser(userDto, id);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUser(@PathVariable long id) {
+    public CompletableFuture<ResponseEntity<?>> getUser(@PathVariable long id) {
         log.info("GET /users/{}", id);
         return client.getUser(id);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteUser(@PathVariable long id) {
+    public CompletableFuture<ResponseEntity<?>> deleteUser(@PathVariable long id) {
         log.info("DELETE /users/{}", id);
         return client.deleteUser(id);
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllUsers() {
+    public CompletableFuture<ResponseEntity<?>> getAllUsers() {
         log.info("GET /users");
         return client.getUsers();
     }
@@ -3,46 +3,48 @@ package ru.practicum.shareit.user.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.cache.ResponseCache;
+import ru.practicum.shareit.common.coalescing.RequestCoalescer;
+import ru.practicum.shareit.common.resilience.UpstreamGuards;
+import ru.practicum.shareit.common.transport.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserCreationDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    private static final Set<String> INVALIDATED_REGIONS = Set.of(API_PREFIX, "/items", "/bookings", "/requests");
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory.class)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                      UpstreamGuards guards, ResponseCache responseCache, RequestCoalescer coalescer) {
+        super(serverUrl, API_PREFIX, transportFactory, guards, responseCache, coalescer, INVALIDATED_REGIONS);
     }
 
-    public ResponseEntity<?> postUser(UserCreationDto dto) {
+    public CompletableFuture<ResponseEntity<?>> postUser(UserCreationDto dto) {
         return post("/", dto);
     }
 
-    public ResponseEntity<?> patchUser(UserDto dto, long id) {
+    public CompletableFuture<ResponseEntity<?>> patchUser(UserDto dto, long id) {
         return patch("/" + id, dto);
     }
 
-    public ResponseEntity<?> getUser(long id) {
-        return get("/" + id);
+    public CompletableFuture<ResponseEntity<?>> getUser(long id) {
+        return getCached("/" + id, null);
     }
 
-    public ResponseEntity<?> deleteUser(long id) {
+    public CompletableFuture<ResponseEntity<?>> deleteUser(long id) {
         return delete("/" + id);
     }
 
-    public ResponseEntity<?> getUsers() {
+    public CompletableFuture<ResponseEntity<?>> getUsers() {
         return get("/");
     }
 }
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.unit.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.common.cache.ResponseCache;
+import ru.practicum.shareit.common.cache.ResponseCacheProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResponseCacheTest {
+    private static final String ITEMS = "/items";
+    private static final String USERS = "/users";
+
+    private ResponseCacheProperties properties;
+    private SimpleMeterRegistry registry;
+    private ResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.setMaxSize(3);
+        registry = new SimpleMeterRegistry();
+        cache = new ResponseCache(properties, registry);
+    }
+
+    @Test
+    public void testGetReturnsStoredResponse() {
+        ResponseEntity<?> response = ResponseEntity.ok("item");
+        cache.put(ITEMS, "/items/1#1", response, cache.generation(ITEMS));
+
+        assertEquals(Optional.of(response), cache.get("/items/1#1"));
+        assertFalse(cache.get("/items/2#1").isPresent());
+        assertEquals(1.0, count("cache.gets", "result", "hit"));
+        assertEquals(1.0, count("cache.gets", "result", "miss"));
+    }
+
+    @Test
+    public void testInvalidateRemovesOnlyGivenRegions() {
+        cache.put(ITEMS, "/items/1#1", ResponseEntity.ok("item"), cache.generation(ITEMS));
+        cache.put(USERS, "/users/1#null", ResponseEntity.ok("user"), cache.generation(USERS));
+
+        cache.invalidate(Set.of(ITEMS));
+
+        assertFalse(cache.get("/items/1#1").isPresent());
+        assertTrue(cache.get("/users/1#null").isPresent());
+        assertEquals(1.0, count("cache.evictions", "cause", "invalidated"));
+    }
+
+    @Test
+    public void testPutWithStaleGenerationIsDropped() {
+        long generation = cache.generation(ITEMS);
+
+        cache.invalidate(Set.of(ITEMS));
+        cache.put(ITEMS, "/items/1#1", ResponseEntity.ok("stale item"), generation);
+
+        assertFalse(cache.get("/items/1#1").isPresent());
+        cache.put(ITEMS, "/items/1#1", ResponseEntity.ok("item"), cache.generation(ITEMS));
+        assertTrue(cache.get("/items/1#1").isPresent());
+    }
+
+    @Test
+    public void testInvalidatingOtherRegionKeepsGeneration() {
+        long generation = cache.generation(ITEMS);
+
+        cache.invalidate(Set.of(USERS));
+        cache.put(ITEMS, "/items/1#1", ResponseEntity.ok("item"), generation);
+
+        assertTrue(cache.get("/items/1#1").isPresent());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedOverMaxSize() {
+        cache.put(ITEMS, "/items/1#1", ResponseEntity.ok("1"), cache.generation(ITEMS));
+        cache.put(ITEMS, "/items/2#1", ResponseEntity.ok("2"), cache.generation(ITEMS));
+        cache.put(ITEMS, "/items/3#1", ResponseEntity.ok("3"), cache.generation(ITEMS));
+        cache.get("/items/1#1");
+
+        cache.put(ITEMS, "/items/4#1", ResponseEntity.ok("4"), cache.generation(ITEMS));
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.get("/items/1#1").isPresent());
+        assertFalse(cache.get("/items/2#1").isPresent());
+        assertEquals(1.0, count("cache.evictions", "cause", "size"));
+    }
+
+    @Test
+    public void testExpiresEntriesAfterTtl() throws InterruptedException {
+        properties.setTtl(Duration.ofMillis(1));
+        cache = new ResponseCache(properties, new SimpleMeterRegistry());
+        cache.put(ITEMS, "/items/1#1", ResponseEntity.ok("item"), cache.generation(ITEMS));
+
+        Thread.sleep(5);
+
+        assertFalse(cache.get("/items/1#1").isPresent());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabledCacheStoresNothing() {
+        properties.setEnabled(false);
+        cache = new ResponseCache(properties, new SimpleMeterRegistry());
+
+        cache.put(ITEMS, "/items/1#1", ResponseEntity.ok("item"), cache.generation(ITEMS));
+
+        assertFalse(cache.isEnabled());
+        assertFalse(cache.get("/items/1#1").isPresent());
+    }
+
+    private double count(String name, String tag, String value) {
+        return registry.get(name).tag(tag, value).counter().count();
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.unit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.common.cache.ResponseCache;
+import ru.practicum.shareit.common.cache.ResponseCacheProperties;
+import ru.practicum.shareit.common.coalescing.RequestCoalescer;
+import ru.practicum.shareit.common.coalescing.RequestCoalescerProperties;
+import ru.practicum.shareit.common.resilience.ResilienceProperties;
+import ru.practicum.shareit.common.resilience.UpstreamGuards;
+import ru.practicum.shareit.common.transport.ServerTransport;
+import ru.practicum.shareit.common.transport.ServerTransportFactory;
+import ru.practicum.shareit.user.service.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BaseClientTest {
+    private static final String ETAG = "W/\"0a1b2c\"";
+    private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private ServerTransportFactory transportFactory;
+
+    @Mock
+    private ServerTransport transport;
+
+    private UserClient client;
+
+    @BeforeEach
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        when(transportFactory.create(Mockito.anyString(), Mockito.any()))
+                .thenReturn(transport);
+        client = new UserClient("http://server", transportFactory,
+                new UpstreamGuards(new ResilienceProperties(), registry),
+                new ResponseCache(new ResponseCacheProperties(), registry),
+                new RequestCoalescer(new RequestCoalescerProperties(), registry));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testGetCached_MatchingIfNoneMatchIsAnsweredFromCache() {
+        stubServerResponse();
+        client.getUser(1).join();
+
+        withIfNoneMatch(ETAG);
+        ResponseEntity<?> response = client.getUser(1).join();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verifyServerCalls(1);
+    }
+
+    @Test
+    public void testGetCached_StrongIfNoneMatchMatchesWeakETag() {
+        stubServerResponse();
+        client.getUser(1).join();
+
+        withIfNoneMatch("\"other\", \"0a1b2c\"");
+        ResponseEntity<?> response = client.getUser(1).join();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verifyServerCalls(1);
+    }
+
+    @Test
+    public void testGetCached_WildcardIfNoneMatch() {
+        stubServerResponse();
+        client.getUser(1).join();
+
+        withIfNoneMatch("*");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, client.getUser(1).join().getStatusCode());
+        verifyServerCalls(1);
+    }
+
+    @Test
+    public void testGetCached_StaleIfNoneMatchGetsCachedBody() {
+        stubServerResponse();
+        client.getUser(1).join();
+
+        withIfNoneMatch("W/\"stale\"");
+        ResponseEntity<?> response = client.getUser(1).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+        verifyServerCalls(1);
+    }
+
+    @Test
+    public void testGetCached_WithoutIfNoneMatchGetsCachedBody() {
+        stubServerResponse();
+        client.getUser(1).join();
+
+        ResponseEntity<?> response = client.getUser(1).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+        verifyServerCalls(1);
+    }
+
+    private void stubServerResponse() {
+        when(transport.exchange(Mockito.eq(HttpMethod.GET), Mockito.anyString(), Mockito.any(HttpHeaders.class),
+                Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        ResponseEntity.ok().eTag(ETAG).body(BODY)));
+    }
+
+    private void withIfNoneMatch(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private void verifyServerCalls(int calls) {
+        verify(transport, times(calls)).exchange(Mockito.eq(HttpMethod.GET), Mockito.anyString(),
+                Mockito.any(HttpHeaders.class), Mockito.any(), Mockito.any());
+    }
+}
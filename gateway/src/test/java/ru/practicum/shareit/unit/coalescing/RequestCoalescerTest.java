@@ -0,0 +1,174 @@
+package ru.practicum.shareit.unit.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.common.coalescing.RequestCoalescer;
+import ru.practicum.shareit.common.coalescing.RequestCoalescerProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestCoalescerTest {
+    private SimpleMeterRegistry registry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(new RequestCoalescerProperties(), registry);
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneUpstreamCall() throws Exception {
+        CompletableFuture<ResponseEntity<?>> upstream = new CompletableFuture<>();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        int threads = 8;
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<CompletableFuture<ResponseEntity<?>>>> responses = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                responses.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return coalescer.coalesce("/items/1#1", () -> {
+                        upstreamCalls.incrementAndGet();
+                        return upstream;
+                    });
+                }));
+            }
+            ready.await();
+            start.countDown();
+            List<CompletableFuture<ResponseEntity<?>>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<ResponseEntity<?>>> response : responses) {
+                futures.add(response.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, upstreamCalls.get());
+            futures.forEach(future -> assertFalse(future.isDone()));
+
+            upstream.complete(ResponseEntity.ok("item"));
+            for (CompletableFuture<ResponseEntity<?>> future : futures) {
+                assertEquals("item", future.join().getBody());
+            }
+            assertEquals(threads - 1.0, registry.counter("gateway.requests.coalescing", "role", "follower").count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCompletedRequestIsNotShared() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            coalescer.coalesce("/items/1#1", () -> {
+                upstreamCalls.incrementAndGet();
+                return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+            }).join();
+        }
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(0.0, inFlight());
+    }
+
+    @Test
+    public void testDifferentKeysAreNotShared() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        coalescer.coalesce("/items/1#1", () -> {
+            upstreamCalls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        coalescer.coalesce("/items/1#2", () -> {
+            upstreamCalls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(2.0, inFlight());
+    }
+
+    @Test
+    public void testFailedUpstreamCallIsSharedAndCleared() {
+        CompletableFuture<ResponseEntity<?>> upstream = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> leader = coalescer.coalesce("/items/1#1", () -> upstream);
+        CompletableFuture<ResponseEntity<?>> follower = coalescer.coalesce("/items/1#1", () -> {
+            throw new AssertionError("follower must not call the server");
+        });
+
+        upstream.completeExceptionally(new IllegalStateException("server down"));
+
+        assertInstanceOf(IllegalStateException.class,
+                assertThrows(CompletionException.class, leader::join).getCause());
+        assertInstanceOf(IllegalStateException.class,
+                assertThrows(CompletionException.class, follower::join).getCause());
+        assertEquals(0.0, inFlight());
+        assertEquals(HttpStatus.OK, coalescer.coalesce("/items/1#1", () -> CompletableFuture.completedFuture(
+                ResponseEntity.ok().build())).join().getStatusCode());
+    }
+
+    @Test
+    public void testSupplierExceptionClearsEntry() {
+        assertThrows(IllegalStateException.class, () -> coalescer.coalesce("/items/1#1", () -> {
+            throw new IllegalStateException("connection refused");
+        }));
+
+        assertEquals(0.0, inFlight());
+        assertTrue(coalescer.coalesce("/items/1#1", () -> CompletableFuture.completedFuture(
+                ResponseEntity.ok().build())).isDone());
+    }
+
+    @Test
+    public void testCancellingOneCallerDoesNotCancelOthers() {
+        CompletableFuture<ResponseEntity<?>> upstream = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> first = coalescer.coalesce("/items/1#1", () -> upstream);
+        CompletableFuture<ResponseEntity<?>> second = coalescer.coalesce("/items/1#1", () -> upstream);
+
+        first.cancel(true);
+        upstream.complete(ResponseEntity.ok("item"));
+
+        assertEquals("item", second.join().getBody());
+    }
+
+    @Test
+    public void testDisabledCoalescerCallsServerEveryTime() {
+        RequestCoalescerProperties properties = new RequestCoalescerProperties();
+        properties.setEnabled(false);
+        RequestCoalescer disabled = new RequestCoalescer(properties, new SimpleMeterRegistry());
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        disabled.coalesce("/items/1#1", () -> {
+            upstreamCalls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        disabled.coalesce("/items/1#1", () -> {
+            upstreamCalls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private double inFlight() {
+        return registry.get("gateway.requests.in.flight").gauge().value();
+    }
+}
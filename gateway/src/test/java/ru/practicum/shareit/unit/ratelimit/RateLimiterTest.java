@@ -0,0 +1,84 @@
+package ru.practicum.shareit.unit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.common.ratelimit.RateLimiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+    private static final String ROUTE = "GET /items/{id}";
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry registry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new RateLimitProperties();
+        properties.setMaxBuckets(10);
+        properties.getDefaults().setCapacity(2);
+        properties.getDefaults().setPermitsPerSecond(0.001);
+        registry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(properties, registry);
+    }
+
+    @Test
+    public void testLimitsEachUserAndRouteSeparately() {
+        assertEquals(0, rateLimiter.tryAcquire("ItemController", ROUTE, "1"));
+        assertEquals(0, rateLimiter.tryAcquire("ItemController", ROUTE, "1"));
+        assertTrue(rateLimiter.tryAcquire("ItemController", ROUTE, "1") > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire("ItemController", ROUTE, "2"));
+        assertEquals(0, rateLimiter.tryAcquire("ItemController", "GET /items", "1"));
+        assertEquals(1.0, registry.counter("gateway.rate.limit.requests",
+                "controller", "ItemController", "result", "rejected").count());
+    }
+
+    @Test
+    public void testUsesControllerSpecificLimit() {
+        RateLimitProperties.Limit bookingLimit = new RateLimitProperties.Limit();
+        bookingLimit.setCapacity(1);
+        bookingLimit.setPermitsPerSecond(0.001);
+        properties.getControllers().put("BookingController", bookingLimit);
+
+        assertEquals(0, rateLimiter.tryAcquire("BookingController", "GET /bookings", "1"));
+        assertTrue(rateLimiter.tryAcquire("BookingController", "GET /bookings", "1") > 0);
+    }
+
+    @Test
+    public void testEvictsBucketsAtMaxBuckets() {
+        for (int user = 0; user < 10; user++) {
+            rateLimiter.tryAcquire("ItemController", ROUTE, String.valueOf(user));
+        }
+        assertEquals(10.0, buckets());
+
+        assertEquals(0, rateLimiter.tryAcquire("ItemController", ROUTE, "new user"));
+
+        assertTrue(buckets() <= 10.0);
+        for (int user = 100; user < 150; user++) {
+            rateLimiter.tryAcquire("ItemController", ROUTE, String.valueOf(user));
+            assertTrue(buckets() <= 10.0);
+        }
+    }
+
+    @Test
+    public void testEvictsFullBucketsFirst() throws InterruptedException {
+        properties.getDefaults().setPermitsPerSecond(1_000_000_000);
+        for (int user = 0; user < 10; user++) {
+            rateLimiter.tryAcquire("ItemController", ROUTE, String.valueOf(user));
+        }
+        Thread.sleep(1);
+
+        rateLimiter.tryAcquire("ItemController", ROUTE, "new user");
+
+        assertEquals(1.0, buckets());
+    }
+
+    private double buckets() {
+        return registry.get("gateway.rate.limit.buckets").gauge().value();
+    }
+}
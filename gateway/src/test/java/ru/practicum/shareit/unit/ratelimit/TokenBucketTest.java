@@ -0,0 +1,76 @@
+package ru.practicum.shareit.unit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.common.ratelimit.TokenBucket;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testAllowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(limit(3, 1), 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND, bucket.tryConsume(0));
+    }
+
+    @Test
+    public void testRejectedRequestDoesNotConsume() {
+        TokenBucket bucket = new TokenBucket(limit(1, 1), 0);
+        assertEquals(0, bucket.tryConsume(0));
+
+        assertEquals(SECOND, bucket.tryConsume(0));
+        assertEquals(SECOND / 2, bucket.tryConsume(SECOND / 2));
+        assertEquals(0, bucket.tryConsume(SECOND));
+    }
+
+    @Test
+    public void testRefillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(limit(2, 4), 0);
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(0) > 0);
+
+        assertEquals(0, bucket.tryConsume(SECOND / 4));
+        assertTrue(bucket.tryConsume(SECOND / 4) > 0);
+        assertEquals(0, bucket.tryConsume(SECOND / 2));
+    }
+
+    @Test
+    public void testIdleTimeDoesNotGrowBurstBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(limit(2, 1), 0);
+        long later = 60 * SECOND;
+
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertTrue(bucket.tryConsume(later) > 0);
+    }
+
+    @Test
+    public void testIsFullOnceAllTokensAreBack() {
+        TokenBucket bucket = new TokenBucket(limit(2, 1), 0);
+        assertTrue(bucket.isFull(0));
+
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertFalse(bucket.isFull(SECOND));
+        assertTrue(bucket.isFull(2 * SECOND));
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity, double permitsPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setPermitsPerSecond(permitsPerSecond);
+        return limit;
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.unit.resilience;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.resilience.CircuitBreaker;
+import ru.practicum.shareit.common.resilience.ResilienceProperties;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+    @Test
+    public void testOpensAfterFailureRateIsReached() {
+        CircuitBreaker breaker = new CircuitBreaker(route(Duration.ofMinutes(1)));
+
+        recordFailures(breaker, 3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        recordFailures(breaker, 1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testStaysClosedBelowFailureRate() {
+        CircuitBreaker breaker = new CircuitBreaker(route(Duration.ofMinutes(1)));
+
+        for (int i = 0; i < 12; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            if (i % 4 == 0) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testOldFailuresSlideOutOfWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(route(Duration.ofMinutes(1)));
+
+        recordFailures(breaker, 1);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onSuccess();
+        }
+        recordFailures(breaker, 1);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testHalfOpensAfterCooldownAndClosesOnSuccesses() {
+        CircuitBreaker breaker = new CircuitBreaker(route(Duration.ZERO));
+        recordFailures(breaker, 4);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        recordFailures(breaker, 3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testReopensOnFailureWhileHalfOpen() {
+        CircuitBreaker breaker = new CircuitBreaker(route(Duration.ZERO));
+        recordFailures(breaker, 4);
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testStaysOpenUntilCooldownPasses() {
+        CircuitBreaker breaker = new CircuitBreaker(route(Duration.ofMinutes(1)));
+        recordFailures(breaker, 4);
+
+        for (int i = 0; i < 5; i++) {
+            assertFalse(breaker.tryAcquirePermission());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private static ResilienceProperties.Route route(Duration waitDurationInOpenState) {
+        ResilienceProperties.Route route = new ResilienceProperties.Route();
+        route.setSlidingWindowSize(4);
+        route.setMinimumNumberOfCalls(4);
+        route.setFailureRateThreshold(50);
+        route.setPermittedCallsInHalfOpenState(2);
+        route.setWaitDurationInOpenState(waitDurationInOpenState);
+        return route;
+    }
+
+    private static void recordFailures(CircuitBreaker breaker, int failures) {
+        for (int i = 0; i < failures; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.unit.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.common.exception.ServerTimeoutException;
+import ru.practicum.shareit.common.exception.ServerUnavailableException;
+import ru.practicum.shareit.common.resilience.ResilienceProperties;
+import ru.practicum.shareit.common.resilience.UpstreamGuard;
+import ru.practicum.shareit.common.resilience.UpstreamGuards;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UpstreamGuardTest {
+    private SimpleMeterRegistry registry;
+    private UpstreamGuard guard;
+
+    @BeforeEach
+    public void setUp() {
+        ResilienceProperties.Route route = new ResilienceProperties.Route();
+        route.setMaxConcurrentCalls(2);
+        route.setSlidingWindowSize(4);
+        route.setMinimumNumberOfCalls(4);
+        route.setFailureRateThreshold(50);
+        route.setWaitDurationInOpenState(Duration.ofMinutes(1));
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getRoutes().put("items", route);
+        registry = new SimpleMeterRegistry();
+        guard = new UpstreamGuards(properties, registry).forRoute("/items");
+    }
+
+    @Test
+    public void testBulkheadRejectsCallsOverLimitAndReleasesPermits() {
+        CompletableFuture<ResponseEntity<?>> first = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> second = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> firstResponse = guard.execute(() -> first);
+        guard.execute(() -> second);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        assertUnavailable(guard.execute(() -> {
+            upstreamCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+        }));
+        assertEquals(0, upstreamCalls.get());
+
+        first.complete(ResponseEntity.ok().build());
+        assertEquals(HttpStatus.OK, firstResponse.join().getStatusCode());
+        assertEquals(HttpStatus.OK, guard.execute(() -> CompletableFuture.completedFuture(
+                ResponseEntity.ok().build())).join().getStatusCode());
+        assertEquals(1.0, registry.counter("gateway.upstream.calls",
+                "route", "items", "outcome", "bulkhead_full").count());
+    }
+
+    @Test
+    public void testServerErrorsOpenCircuitAndShortCircuitCalls() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, guard.execute(() -> CompletableFuture.completedFuture(
+                    ResponseEntity.internalServerError().build())).join().getStatusCode());
+        }
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        assertUnavailable(guard.execute(() -> {
+            upstreamCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+        }));
+        assertEquals(0, upstreamCalls.get());
+        assertEquals(1.0, registry.counter("gateway.upstream.calls",
+                "route", "items", "outcome", "circuit_open").count());
+    }
+
+    @Test
+    public void testClientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 10; i++) {
+            guard.execute(() -> CompletableFuture.completedFuture(ResponseEntity.notFound().build())).join();
+        }
+
+        assertEquals(HttpStatus.OK, guard.execute(() -> CompletableFuture.completedFuture(
+                ResponseEntity.ok().build())).join().getStatusCode());
+    }
+
+    @Test
+    public void testTimeoutIsReportedAsServerTimeout() {
+        CompletionException error = assertThrows(CompletionException.class, () -> guard.execute(
+                () -> CompletableFuture.failedFuture(new SocketTimeoutException("Read timed out"))).join());
+
+        assertInstanceOf(ServerTimeoutException.class, error.getCause());
+        assertEquals(1.0, registry.counter("gateway.upstream.calls",
+                "route", "items", "outcome", "timeout").count());
+    }
+
+    @Test
+    public void testSupplierExceptionReleasesBulkheadPermit() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CompletionException.class, () -> guard.execute(() -> {
+                throw new IllegalStateException("connection refused");
+            }).join());
+        }
+
+        assertEquals(2.0, registry.get("gateway.upstream.bulkhead.available").tag("route", "items")
+                .gauge().value());
+    }
+
+    private static void assertUnavailable(CompletableFuture<ResponseEntity<?>> response) {
+        CompletionException error = assertThrows(CompletionException.class, response::join);
+        assertInstanceOf(ServerUnavailableException.class, error.getCause());
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.unit.transport;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.transport.ContentEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ContentEncodingTest {
+    private static final byte[] BODY = "{\"items\":[{\"id\":1},{\"id\":2},{\"id\":3}]}".repeat(20)
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testGzipRoundTrip() {
+        assertArrayEquals(BODY, ContentEncoding.decode(ContentEncoding.gzip(BODY), "gzip"));
+        assertArrayEquals(BODY, ContentEncoding.decode(ContentEncoding.gzip(BODY), "GZIP"));
+    }
+
+    @Test
+    public void testDecodeDeflate() throws IOException {
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(deflated)) {
+            deflater.write(BODY);
+        }
+
+        assertArrayEquals(BODY, ContentEncoding.decode(deflated.toByteArray(), "deflate"));
+    }
+
+    @Test
+    public void testUnknownOrMissingEncodingIsPassedThrough() {
+        assertSame(BODY, ContentEncoding.decode(BODY, "br"));
+        assertSame(BODY, ContentEncoding.decode(BODY, "identity"));
+        assertSame(BODY, ContentEncoding.decode(BODY, null));
+    }
+
+    @Test
+    public void testEmptyBodyIsNotDecoded() {
+        byte[] empty = new byte[0];
+
+        assertSame(empty, ContentEncoding.decode(empty, "gzip"));
+    }
+
+    @Test
+    public void testCorruptBodyFails() {
+        assertThrows(UncheckedIOException.class, () -> ContentEncoding.decode(BODY, "gzip"));
+        assertThrows(UncheckedIOException.class, () -> ContentEncoding.decode(BODY, "deflate"));
+    }
+}
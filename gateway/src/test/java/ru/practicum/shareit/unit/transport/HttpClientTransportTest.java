@@ -0,0 +1,185 @@
+package ru.practicum.shareit.unit.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.common.exception.ServerTimeoutException;
+import ru.practicum.shareit.common.resilience.ResilienceProperties;
+import ru.practicum.shareit.common.resilience.UpstreamGuard;
+import ru.practicum.shareit.common.resilience.UpstreamGuards;
+import ru.practicum.shareit.common.transport.HttpClientTransport;
+import ru.practicum.shareit.common.transport.WireFormat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HttpClientTransportTest {
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(300);
+    private static final byte[] NOT_FOUND = "{\"error\":\"Item not found\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+    private final CountDownLatch slowResponse = new CountDownLatch(1);
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private HttpClient httpClient;
+    private HttpClientTransport transport;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/items/1", exchange -> respond(exchange, 200, "{\"id\":1}".getBytes()));
+        server.createContext("/items/404", exchange -> respond(exchange, 404, NOT_FOUND));
+        server.createContext("/items/500", exchange -> respond(exchange, 500, "{}".getBytes()));
+        server.createContext("/items/corrupt", exchange -> {
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            respond(exchange, 200, "not gzip".getBytes());
+        });
+        server.createContext("/items/slow", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try {
+                slowResponse.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            send(exchange, 200, "{\"id\":1}".getBytes());
+        });
+        server.start();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        transport = transport(server.getAddress().getPort());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slowResponse.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testUpstreamErrorsAreRelayedAsGatewayResponses() {
+        ResponseEntity<?> notFound = get("/404").join();
+        ResponseEntity<?> serverError = get("/500").join();
+
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, notFound.getHeaders().getContentType());
+        assertArrayEquals(NOT_FOUND, (byte[]) notFound.getBody());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, serverError.getStatusCode());
+    }
+
+    @Test
+    public void testReadTimeoutFailsWithHttpTimeout() {
+        CompletionException e = assertThrows(CompletionException.class, () -> get("/slow").join());
+
+        assertInstanceOf(HttpTimeoutException.class, e.getCause());
+    }
+
+    @Test
+    public void testReadTimeoutMapsToGatewayTimeout() {
+        ResilienceProperties.Route route = new ResilienceProperties.Route();
+        route.setTimeout(READ_TIMEOUT);
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getRoutes().put("items", route);
+        UpstreamGuard guard = new UpstreamGuards(properties, new SimpleMeterRegistry()).forRoute("/items");
+
+        CompletableFuture<ResponseEntity<?>> response = guard.execute(() -> get("/slow"));
+
+        CompletionException e = assertThrows(CompletionException.class, response::join);
+        assertInstanceOf(ServerTimeoutException.class, e.getCause());
+    }
+
+    @Test
+    public void testUnreachableServerFailsWithConnectException() throws IOException {
+        int port;
+        try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = closed.getLocalPort();
+        }
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> transport(port).exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).join());
+
+        assertInstanceOf(ConnectException.class, e.getCause());
+    }
+
+    @Test
+    public void testConnectionIsReusedAfterErrorResponse() {
+        get("/500").join();
+        assertEquals(HttpStatus.OK, get("/1").join().getStatusCode());
+
+        assertEquals(2, clientPorts.size());
+        assertEquals(clientPorts.get(0), clientPorts.get(1));
+    }
+
+    @Test
+    public void testConnectionIsReusedAfterUndecodableBody() {
+        CompletionException e = assertThrows(CompletionException.class, () -> get("/corrupt").join());
+        assertInstanceOf(UncheckedIOException.class, e.getCause());
+
+        assertEquals(HttpStatus.OK, get("/1").join().getStatusCode());
+        assertEquals(clientPorts.get(0), clientPorts.get(1));
+    }
+
+    @Test
+    public void testTimedOutConnectionIsNotReused() {
+        assertThrows(CompletionException.class, () -> get("/slow").join());
+        slowResponse.countDown();
+
+        assertArrayEquals("{\"id\":1}".getBytes(), (byte[]) get("/1").join().getBody());
+        assertNotEquals(clientPorts.get(0), clientPorts.get(1));
+    }
+
+    private CompletableFuture<ResponseEntity<?>> get(String path) {
+        return transport.exchange(HttpMethod.GET, path, new HttpHeaders(), null, null);
+    }
+
+    private HttpClientTransport transport(int port) {
+        return new HttpClientTransport(httpClient, "http://127.0.0.1:" + port + "/items", new ObjectMapper(),
+                READ_TIMEOUT, 1024, WireFormat.JSON);
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        send(exchange, status, body);
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
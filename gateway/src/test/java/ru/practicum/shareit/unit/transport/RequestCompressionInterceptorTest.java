@@ -0,0 +1,71 @@
+package ru.practicum.shareit.unit.transport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import ru.practicum.shareit.common.transport.ContentEncoding;
+import ru.practicum.shareit.common.transport.RequestCompressionInterceptor;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RequestCompressionInterceptorTest {
+    private static final int THRESHOLD = 64;
+
+    private final RequestCompressionInterceptor interceptor = new RequestCompressionInterceptor(THRESHOLD);
+    private MockClientHttpRequest request;
+    private byte[] sentBody;
+    private ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    public void setUp() {
+        request = new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost:9090/items"));
+        execution = (HttpRequest executed, byte[] body) -> {
+            sentBody = body;
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+    }
+
+    @Test
+    public void testBodyBelowThresholdIsSentAsIs() throws IOException {
+        byte[] body = new byte[THRESHOLD - 1];
+
+        interceptor.intercept(request, body, execution);
+
+        assertSame(body, sentBody);
+        assertFalse(request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void testBodyAtThresholdIsGzipped() throws IOException {
+        byte[] body = "{\"name\":\"Drill\"}".repeat(4).getBytes();
+
+        interceptor.intercept(request, body, execution);
+
+        assertEquals(THRESHOLD, body.length);
+        assertEquals(ContentEncoding.GZIP, request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body, ContentEncoding.decode(sentBody, ContentEncoding.GZIP));
+    }
+
+    @Test
+    public void testAlreadyEncodedBodyIsNotCompressedAgain() throws IOException {
+        byte[] body = new byte[THRESHOLD * 2];
+        request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, ContentEncoding.DEFLATE);
+
+        interceptor.intercept(request, body, execution);
+
+        assertSame(body, sentBody);
+        assertEquals(ContentEncoding.DEFLATE, request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+}
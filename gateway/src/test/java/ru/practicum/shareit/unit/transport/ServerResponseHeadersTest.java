@@ -0,0 +1,53 @@
+package ru.practicum.shareit.unit.transport;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.shareit.common.transport.ServerResponseHeaders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServerResponseHeadersTest {
+    @Test
+    public void testHopByHopHeadersAreStripped() {
+        HttpHeaders headers = ServerResponseHeaders.forwarded(Map.of(
+                "Connection", List.of("keep-alive"),
+                "Keep-Alive", List.of("timeout=60"),
+                "Transfer-Encoding", List.of("chunked"),
+                "Content-Length", List.of("42"),
+                "Content-Encoding", List.of("gzip"),
+                "Upgrade", List.of("h2c"),
+                "Date", List.of("Sat, 17 Oct 2026 10:00:00 GMT")));
+
+        assertTrue(headers.isEmpty());
+    }
+
+    @Test
+    public void testEndToEndHeadersAreForwarded() {
+        HttpHeaders headers = ServerResponseHeaders.forwarded(Map.of(
+                "content-type", List.of("application/json"),
+                "ETag", List.of("\"v1\""),
+                "Cache-Control", List.of("private", "max-age=0"),
+                "Last-Modified", List.of("Sat, 17 Oct 2026 10:00:00 GMT"),
+                "Location", List.of("/items/1"),
+                "Vary", List.of("X-Sharer-User-Id"),
+                "X-Next-Cursor", List.of("abc"),
+                "Connection", List.of("close")));
+
+        assertEquals(7, headers.size());
+        assertEquals("application/json", headers.getFirst(HttpHeaders.CONTENT_TYPE));
+        assertEquals("\"v1\"", headers.getETag());
+        assertEquals(List.of("private", "max-age=0"), headers.get(HttpHeaders.CACHE_CONTROL));
+        assertEquals("abc", headers.getFirst("X-Next-Cursor"));
+        assertFalse(headers.containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    public void testNoServerHeaders() {
+        assertTrue(ServerResponseHeaders.forwarded(null).isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.unit.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.common.transport.ServerResponses;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ServerResponsesTest {
+    private static final Map<String, List<String>> SMILE_HEADERS =
+            Map.of("Content-Type", List.of("application/x-jackson-smile"));
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    @Test
+    public void testJsonBodyIsRelayedUnchanged() {
+        byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<?> response = ServerResponses.toGatewayResponse(404, Map.of(
+                "Content-Type", List.of("application/json;charset=UTF-8"),
+                "Transfer-Encoding", List.of("chunked")), body);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.parseMediaType("application/json;charset=UTF-8"),
+                response.getHeaders().getContentType());
+        assertSame(body, response.getBody());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    @Test
+    public void testEmptyBodyKeepsStatusAndHeaders() {
+        ResponseEntity<?> response = ServerResponses.toGatewayResponse(304, Map.of(
+                "ETag", List.of("\"v1\""),
+                "Content-Length", List.of("0")), new byte[0]);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        assertNull(ServerResponses.toGatewayResponse(204, null, null).getBody());
+    }
+
+    @Test
+    public void testSmileBodyIsTranscodedToJson() throws IOException {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", 1);
+        item.put("name", "Дрель");
+        item.put("available", true);
+        item.put("requestId", null);
+        item.put("price", 12.5);
+        item.put("comments", List.of(Map.of("text", "ok"), Map.of("text", "\"quoted\"")));
+
+        ResponseEntity<?> response = ServerResponses.toGatewayResponse(
+                201, SMILE_HEADERS, smileMapper.writeValueAsBytes(item));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(jsonMapper.writeValueAsBytes(item), (byte[]) response.getBody());
+    }
+
+    @Test
+    public void testSmileArrayAndScalarsAreTranscoded() throws IOException {
+        List<Object> values = Arrays.asList(Long.MAX_VALUE, -1, "", null, List.of(), Map.of());
+
+        ResponseEntity<?> response = ServerResponses.toGatewayResponse(
+                200, SMILE_HEADERS, smileMapper.writeValueAsBytes(values));
+
+        assertEquals("[9223372036854775807,-1,\"\",null,[],{}]", new String((byte[]) response.getBody()));
+    }
+
+    @Test
+    public void testMalformedSmileBodyFails() {
+        assertThrows(UncheckedIOException.class, () -> ServerResponses.toGatewayResponse(
+                200, SMILE_HEADERS, "{\"id\":1}".getBytes()));
+    }
+}
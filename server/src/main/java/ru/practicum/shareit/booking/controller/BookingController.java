@@ -2,11 +2,13 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -16,6 +18,8 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
     private final BookingMapper bookingMapper;
 
@@ -42,24 +46,45 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-id") Long userId,
-                                            @RequestParam(required = false, defaultValue = "ALL") String state,
-                                            @RequestParam(required = false) Integer from,
-                                            @RequestParam(required = false) Integer size) {
-        log.info("GET /bookings?state={}&from={}&size={} (X-Sharer-User-id = {})", state, from, size, userId);
-        return bookingMapper.toDtoList(
-                bookingService.getUserBookings(userId, BookingState.valueOf(state), from, size)
-        );
+    public ResponseEntity<List<BookingDto>> getUserBookings(
+            @RequestHeader("X-Sharer-User-id") Long userId,
+            @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /bookings?state={}&from={}&size={}&cursor={} (X-Sharer-User-id = {})",
+                state, from, size, cursor, userId);
+        BookingState bookingState = BookingState.valueOf(state);
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getUserBookings(userId, bookingState, from, size));
+        }
+        return toCursorPage(bookingService.getUserBookingsAfter(
+                userId, bookingState, BookingCursor.decode(cursor), size), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getUserItemsBookings(@RequestHeader("X-Sharer-User-id") Long userId,
-                                                 @RequestParam(required = false, defaultValue = "ALL") String state,
-                                                 @RequestParam(required = false) Integer from,
-                                                 @RequestParam(required = false) Integer size) {
-        log.info("GET /bookings/owner?state={}&from={}&size={} (X-Sharer-User-id = {})", state, from, size, userId);
-        return bookingMapper.toDtoList(bookingService.getUserItemsBookings(
-                userId, BookingState.valueOf(state), from, size)
-        );
+    public ResponseEntity<List<BookingDto>> getUserItemsBookings(
+            @RequestHeader("X-Sharer-User-id") Long userId,
+            @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /bookings/owner?state={}&from={}&size={}&cursor={} (X-Sharer-User-id = {})",
+                state, from, size, cursor, userId);
+        BookingState bookingState = BookingState.valueOf(state);
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getUserItemsBookings(userId, bookingState, from, size));
+        }
+        return toCursorPage(bookingService.getUserItemsBookingsAfter(
+                userId, bookingState, BookingCursor.decode(cursor), size), size);
+    }
+
+    private ResponseEntity<List<BookingDto>> toCursorPage(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            BookingDto last = bookings.get(bookings.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, new BookingCursor(last.getStart(), last.getId()).encode());
+        }
+        return response.body(bookings);
     }
 }
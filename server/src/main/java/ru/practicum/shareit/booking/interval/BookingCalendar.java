@@ -0,0 +1,186 @@
+package ru.practicum.shareit.booking.interval;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class BookingCalendar {
+    private final BookingRepository bookingRepository;
+    private final int maxItems;
+    private final long ttlNanos;
+    private final Map<Long, Entry> busyIntervalsByItem = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BookingCalendar(BookingRepository bookingRepository,
+                           @Value("${shareit.bookings.calendar.max-items:10000}") int maxItems,
+                           @Value("${shareit.bookings.calendar.ttl:10m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.maxItems = maxItems;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public List<TimeInterval> getBusyIntervals(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        LocalDateTime horizon = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        List<TimeInterval> busyIntervals = from.isBefore(horizon)
+                ? merge(bookingRepository.findByItemIdAndStatusAndEndAfterAndStartBeforeOrderByStart(
+                        itemId, BookingStatus.APPROVED, from, to))
+                : getMergedBusyIntervals(itemId, horizon);
+        List<TimeInterval> result = new ArrayList<>();
+        for (int i = findFirstEndingAfter(busyIntervals, from); i < busyIntervals.size(); i++) {
+            TimeInterval interval = busyIntervals.get(i);
+            if (!interval.getStart().isBefore(to)) {
+                break;
+            }
+            result.add(new TimeInterval(
+                    interval.getStart().isBefore(from) ? from : interval.getStart(),
+                    interval.getEnd().isAfter(to) ? to : interval.getEnd()));
+        }
+        return result;
+    }
+
+    public List<TimeInterval> getFreeIntervals(List<TimeInterval> busyIntervals, LocalDateTime from, LocalDateTime to) {
+        List<TimeInterval> freeIntervals = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (TimeInterval busy : busyIntervals) {
+            if (freeFrom.isBefore(busy.getStart())) {
+                freeIntervals.add(new TimeInterval(freeFrom, busy.getStart()));
+            }
+            freeFrom = busy.getEnd();
+        }
+        if (freeFrom.isBefore(to)) {
+            freeIntervals.add(new TimeInterval(freeFrom, to));
+        }
+        return freeIntervals;
+    }
+
+    public void invalidate(long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(itemId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(itemId);
+            }
+        });
+    }
+
+    public int size() {
+        synchronized (busyIntervalsByItem) {
+            return busyIntervalsByItem.size();
+        }
+    }
+
+    private void evict(long itemId) {
+        synchronized (busyIntervalsByItem) {
+            invalidations.incrementAndGet();
+            busyIntervalsByItem.remove(itemId);
+        }
+    }
+
+    private List<TimeInterval> getMergedBusyIntervals(long itemId, LocalDateTime horizon) {
+        synchronized (busyIntervalsByItem) {
+            Entry entry = busyIntervalsByItem.get(itemId);
+            if (entry != null && System.nanoTime() - entry.loadedAt <= ttlNanos) {
+                if (entry.horizon.isBefore(horizon)) {
+                    entry = new Entry(dropEndedBefore(entry.intervals, horizon), horizon, entry.loadedAt);
+                    busyIntervalsByItem.put(itemId, entry);
+                }
+                return entry.intervals;
+            }
+        }
+        long generation = invalidations.get();
+        long loadedAt = System.nanoTime();
+        List<TimeInterval> busyIntervals = dropEndedBefore(merge(bookingRepository
+                .findByItemIdAndStatusInAndEndAfterOrderByStart(itemId, List.of(BookingStatus.APPROVED), horizon)),
+                horizon);
+        synchronized (busyIntervalsByItem) {
+            if (invalidations.get() == generation) {
+                busyIntervalsByItem.put(itemId, new Entry(busyIntervals, horizon, loadedAt));
+                Iterator<Entry> eldest = busyIntervalsByItem.values().iterator();
+                while (busyIntervalsByItem.size() > maxItems) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        log.info("load booking calendar: {} busy intervals of the item with id {} have been computed.",
+                busyIntervals.size(), itemId);
+        return busyIntervals;
+    }
+
+    private static List<TimeInterval> merge(List<Booking> bookingsByStart) {
+        List<TimeInterval> merged = new ArrayList<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (Booking booking : bookingsByStart) {
+            if (start != null && !booking.getStart().isAfter(end)) {
+                if (booking.getEnd().isAfter(end)) {
+                    end = booking.getEnd();
+                }
+                continue;
+            }
+            if (start != null) {
+                merged.add(new TimeInterval(start, end));
+            }
+            start = booking.getStart();
+            end = booking.getEnd();
+        }
+        if (start != null) {
+            merged.add(new TimeInterval(start, end));
+        }
+        return List.copyOf(merged);
+    }
+
+    private static List<TimeInterval> dropEndedBefore(List<TimeInterval> intervals, LocalDateTime horizon) {
+        int first = findFirstEndingAfter(intervals, horizon);
+        return first == 0 ? intervals : List.copyOf(intervals.subList(first, intervals.size()));
+    }
+
+    private static int findFirstEndingAfter(List<TimeInterval> intervals, LocalDateTime from) {
+        int low = 0;
+        int high = intervals.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (intervals.get(middle).getEnd().isAfter(from)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static class Entry {
+        private final List<TimeInterval> intervals;
+        private final LocalDateTime horizon;
+        private final long loadedAt;
+
+        Entry(List<TimeInterval> intervals, LocalDateTime horizon, long loadedAt) {
+            this.intervals = intervals;
+            this.horizon = horizon;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking.interval;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.model.ErrorResponse;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    private static final int LOCK_STRIPES = 64;
+    private static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final int maxItems;
+    private final Lock[] locks = createLocks();
+    private final Map<Long, IntervalTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Integer> pendingReservations = new ConcurrentHashMap<>();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.bookings.interval-index.max-items:10000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.maxItems = maxItems;
+    }
+
+    public Booking reserve(Booking booking, UnaryOperator<Booking> save) {
+        long itemId = booking.getItem().getId();
+        Lock lock = lockFor(itemId);
+        lock.lock();
+        pin(itemId);
+        boolean pinnedUntilCompletion = false;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            IntervalTree tree = getTree(itemId, now);
+            tree.removeEndedBefore(now);
+            OptionalLong overlapping = tree.findOverlapping(booking.getStart(), booking.getEnd());
+            if (overlapping.isPresent()) {
+                throw new BookingOverlapException(ErrorResponse.builder()
+                        .reason("Booking interval")
+                        .error("The item with id " + itemId + " is already booked by the booking with id "
+                                + overlapping.getAsLong() + " for the requested period!")
+                        .build());
+            }
+            Booking savedBooking = save.apply(booking);
+            tree.add(savedBooking.getId(), savedBooking.getStart(), savedBooking.getEnd());
+            pinnedUntilCompletion = unpinOnCompletion(itemId);
+            return savedBooking;
+        } finally {
+            if (!pinnedUntilCompletion) {
+                unpin(itemId);
+            }
+            lock.unlock();
+        }
+    }
+
+    public void release(Booking booking) {
+        long itemId = booking.getItem().getId();
+        Lock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            IntervalTree tree;
+            synchronized (trees) {
+                tree = trees.get(itemId);
+            }
+            if (tree != null) {
+                tree.remove(booking.getId(), booking.getStart());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        synchronized (trees) {
+            return trees.size();
+        }
+    }
+
+    private IntervalTree getTree(long itemId, LocalDateTime now) {
+        IntervalTree tree;
+        synchronized (trees) {
+            tree = trees.get(itemId);
+        }
+        if (tree == null) {
+            tree = new IntervalTree();
+            for (Booking booking : bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStart(
+                    itemId, BLOCKING_STATUSES, now)) {
+                tree.add(booking.getId(), booking.getStart(), booking.getEnd());
+            }
+            synchronized (trees) {
+                trees.put(itemId, tree);
+                evictEldest();
+            }
+            log.info("load booking intervals: {} intervals of the item with id {} have been loaded.",
+                    tree.size(), itemId);
+        }
+        return tree;
+    }
+
+    private void evictEldest() {
+        Iterator<Long> eldest = trees.keySet().iterator();
+        while (trees.size() > maxItems && eldest.hasNext()) {
+            if (!pendingReservations.containsKey(eldest.next())) {
+                eldest.remove();
+            }
+        }
+    }
+
+    private boolean unpinOnCompletion(long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    evict(itemId);
+                }
+                unpin(itemId);
+            }
+        });
+        return true;
+    }
+
+    private void evict(long itemId) {
+        Lock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            synchronized (trees) {
+                trees.remove(itemId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pin(long itemId) {
+        pendingReservations.merge(itemId, 1, Integer::sum);
+    }
+
+    private void unpin(long itemId) {
+        pendingReservations.computeIfPresent(itemId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    private Lock lockFor(long itemId) {
+        return locks[Math.floorMod(Long.hashCode(itemId), LOCK_STRIPES)];
+    }
+
+    private static Lock[] createLocks() {
+        Lock[] locks = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
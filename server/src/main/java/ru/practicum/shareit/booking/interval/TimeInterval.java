@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.interval;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class TimeInterval {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
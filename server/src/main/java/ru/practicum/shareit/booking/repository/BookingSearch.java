@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.model.BookingCursor;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class BookingSearch {
+    Role role;
+    long userId;
+    BookingState state;
+    LocalDateTime now;
+    BookingCursor cursor;
+    @Builder.Default
+    Pageable pageable = Pageable.unpaged();
+
+    public enum Role {
+        BOOKER, OWNER
+    }
+}
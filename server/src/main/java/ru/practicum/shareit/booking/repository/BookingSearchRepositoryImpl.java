@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class BookingSearchRepositoryImpl implements BookingSearchRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookingDto> search(BookingSearch search) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, User> booker = booking.join("booker");
+        Join<Booking, Item> item = booking.join("item");
+        Map<ParameterExpression<?>, Object> parameters = new IdentityHashMap<>();
+
+        List<Predicate> predicates = new ArrayList<>();
+        Path<Long> userId = search.getRole() == BookingSearch.Role.BOOKER
+                ? booking.get("booker").get("id")
+                : item.get("owner").get("id");
+        predicates.add(cb.equal(userId, bind(cb, parameters, Long.class, search.getUserId())));
+        predicates.addAll(statePredicates(cb, booking, search.getState(), search.getNow(), parameters));
+        if (search.getCursor() != null) {
+            predicates.add(beforeCursor(cb, booking, search.getCursor(), parameters));
+        }
+
+        query.multiselect(
+                        booking.get("id").alias("id"),
+                        booking.get("start").alias("start"),
+                        booking.get("end").alias("end"),
+                        booking.get("status").alias("status"),
+                        booker.get("id").alias("bookerId"),
+                        booker.get("name").alias("bookerName"),
+                        booker.get("email").alias("bookerEmail"),
+                        item.get("id").alias("itemId"),
+                        item.get("name").alias("itemName"),
+                        item.get("description").alias("itemDescription"),
+                        item.get("available").alias("itemAvailable"),
+                        item.get("request").get("id").alias("itemRequestId"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        parameters.forEach((parameter, value) -> bindValue(typedQuery, parameter, value));
+        Pageable pageable = search.getPageable();
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList().stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private List<Predicate> statePredicates(CriteriaBuilder cb, Root<Booking> booking, BookingState state,
+                                            LocalDateTime now, Map<ParameterExpression<?>, Object> parameters) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<BookingStatus> status = booking.get("status");
+        switch (state) {
+            case CURRENT: {
+                ParameterExpression<LocalDateTime> nowParameter = bind(cb, parameters, LocalDateTime.class, now);
+                return List.of(cb.lessThanOrEqualTo(start, nowParameter), cb.greaterThanOrEqualTo(end, nowParameter));
+            }
+            case PAST:
+                return List.of(cb.lessThan(end, bind(cb, parameters, LocalDateTime.class, now)));
+            case FUTURE: {
+                ParameterExpression<LocalDateTime> nowParameter = bind(cb, parameters, LocalDateTime.class, now);
+                return List.of(cb.greaterThan(start, nowParameter), cb.greaterThan(end, nowParameter));
+            }
+            case WAITING:
+                return List.of(cb.equal(status, bind(cb, parameters, BookingStatus.class, BookingStatus.WAITING)));
+            case REJECTED:
+                return List.of(cb.equal(status, bind(cb, parameters, BookingStatus.class, BookingStatus.REJECTED)));
+            default:
+                return List.of();
+        }
+    }
+
+    private Predicate beforeCursor(CriteriaBuilder cb, Root<Booking> booking, BookingCursor cursor,
+                                   Map<ParameterExpression<?>, Object> parameters) {
+        Path<LocalDateTime> start = booking.get("start");
+        ParameterExpression<LocalDateTime> cursorStart = bind(cb, parameters, LocalDateTime.class, cursor.getStart());
+        ParameterExpression<Long> cursorId = bind(cb, parameters, Long.class, cursor.getId());
+        return cb.or(
+                cb.lessThan(start, cursorStart),
+                cb.and(cb.equal(start, cursorStart), cb.lessThan(booking.get("id"), cursorId))
+        );
+    }
+
+    private <T> ParameterExpression<T> bind(CriteriaBuilder cb, Map<ParameterExpression<?>, Object> parameters,
+                                            Class<T> type, T value) {
+        ParameterExpression<T> parameter = cb.parameter(type);
+        parameters.put(parameter, value);
+        return parameter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void bindValue(TypedQuery<Tuple> query, ParameterExpression<T> parameter, Object value) {
+        query.setParameter(parameter, (T) value);
+    }
+
+    private BookingDto toDto(Tuple tuple) {
+        return BookingDto.builder()
+                .id(tuple.get("id", Long.class))
+                .start(tuple.get("start", LocalDateTime.class))
+                .end(tuple.get("end", LocalDateTime.class))
+                .status(tuple.get("status", BookingStatus.class))
+                .booker(UserDto.builder()
+                        .id(tuple.get("bookerId", Long.class))
+                        .name(tuple.get("bookerName", String.class))
+                        .email(tuple.get("bookerEmail", String.class))
+                        .build())
+                .item(ItemDto.builder()
+                        .id(tuple.get("itemId", Long.class))
+                        .name(tuple.get("itemName", String.class))
+                        .description(tuple.get("itemDescription", String.class))
+                        .available(tuple.get("itemAvailable", Boolean.class))
+                        .requestId(tuple.get("itemRequestId", Long.class))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.bookings.archive.enabled", havingValue = "true")
+public class BookingArchiveJob {
+    private final BookingRepository bookingRepository;
+    private final Duration retention;
+
+    public BookingArchiveJob(BookingRepository bookingRepository,
+                             @Value("${shareit.bookings.archive.retention:30d}") Duration retention) {
+        this.bookingRepository = bookingRepository;
+        this.retention = retention;
+    }
+
+    @Transactional
+    @Scheduled(cron = "${shareit.bookings.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        LocalDateTime endedBefore = LocalDateTime.now().minus(retention).truncatedTo(ChronoUnit.DAYS);
+        long archived = bookingRepository.archiveEndedBefore(endedBefore);
+        log.info("archive Bookings: {} bookings ended before {} have been moved to the archive partition.",
+                archived, endedBefore);
+    }
+}
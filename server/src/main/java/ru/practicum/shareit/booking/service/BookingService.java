@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 
 import java.util.List;
 
@@ -12,7 +14,11 @@ public interface BookingService {
 
     Booking getBookingById(long bookingId, long userId);
 
-    List<Booking> getUserBookings(long userId, BookingState state, Integer from, Integer size);
+    List<BookingDto> getUserBookings(long userId, BookingState state, Integer from, Integer size);
 
-    List<Booking> getUserItemsBookings(long userId, BookingState state, Integer from, Integer size);
+    List<BookingDto> getUserBookingsAfter(long userId, BookingState state, BookingCursor cursor, Integer size);
+
+    List<BookingDto> getUserItemsBookings(long userId, BookingState state, Integer from, Integer size);
+
+    List<BookingDto> getUserItemsBookingsAfter(long userId, BookingState state, BookingCursor cursor, Integer size);
 }
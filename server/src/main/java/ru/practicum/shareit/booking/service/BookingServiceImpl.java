@@ -6,9 +6,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.interval.BookingCalendar;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSearch;
 import ru.practicum.shareit.common.utils.PageableUtility;
 import ru.practicum.shareit.exception.AlreadyApprovedException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
@@ -17,6 +22,7 @@ import ru.practicum.shareit.exception.UserWithoutAccessRightsException;
 import ru.practicum.shareit.exception.model.ErrorResponse;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -31,6 +37,9 @@ public class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final PageableUtility pageableUtility;
+    private final ItemBookingSummaryService summaryService;
+    private final BookingIntervalIndex intervalIndex;
+    private final BookingCalendar bookingCalendar;
 
     @Transactional
     @Override
@@ -44,12 +53,13 @@ public class BookingServiceImpl implements BookingService {
         checkBookingItemIsAvailable(booking);
 
         booking.setStatus(BookingStatus.WAITING);
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = intervalIndex.reserve(booking, bookingRepository::save);
         log.info("add Booking: a booking with an id {} and booker id {} has been added. Booking : {}.",
                 savedBooking.getId(), savedBooking.getBooker().getId(), booking.getId());
         return savedBooking;
     }
 
+    @Transactional
     @Override
     public Booking approveBooking(long id, long userId, boolean approved) {
         Booking bookingToUpdate = findBooking(id);
@@ -60,6 +70,12 @@ public class BookingServiceImpl implements BookingService {
         bookingToUpdate.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
 
         Booking savedBooking = bookingRepository.save(bookingToUpdate);
+        if (approved) {
+            summaryService.refresh(savedBooking.getItem().getId());
+            bookingCalendar.invalidate(savedBooking.getItem().getId());
+        } else {
+            intervalIndex.release(savedBooking);
+        }
         log.info("approve Booking: a booking with an id {} and booker id {} has been {}. Booking : {}.",
                 id, userId, approved ? BookingStatus.APPROVED : BookingStatus.REJECTED, savedBooking);
         return savedBooking;
@@ -74,70 +90,55 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<Booking> getUserBookings(long userId, BookingState state, Integer from, Integer size) {
-        User booker = findUser(userId);
-        Pageable pageable = pageableUtility.getPageableFromArguments(from, size);
-        List<Booking> bookings = null;
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByBookerOrderByStartDesc(booker, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(
-                        booker, LocalDateTime.now(), LocalDateTime.now(), pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerAndEndBeforeOrderByStartDesc(
-                        booker, LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerAndStartAfterOrderByStartDesc(
-                        booker, LocalDateTime.now(), pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerAndStatusOrderByStartDesc(
-                        booker, BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerAndStatusOrderByStartDesc(
-                        booker, BookingStatus.REJECTED, pageable);
-                break;
-        }
+    public List<BookingDto> getUserBookings(long userId, BookingState state, Integer from, Integer size) {
+        List<BookingDto> bookings = searchBookings(BookingSearch.Role.BOOKER, userId, state, null,
+                pageableUtility.getPageableFromArguments(from, size));
         log.info("get Bookings: a bookings with an owner with id {} have been received. List (size = {}) : {}.",
                 userId, bookings.size(), bookings);
         return bookings;
     }
 
     @Override
-    public List<Booking> getUserItemsBookings(long userId, BookingState state, Integer from, Integer size) {
-        User owner = findUser(userId);
-        Pageable pageable = pageableUtility.getPageableFromArguments(from, size);
-        List<Booking> bookings = null;
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByItemOwnerOrderByStartDesc(owner, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findCurrentByItemOwnerOrderByStartDesc(owner, LocalDateTime.now(), pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findPastByItemOwnerOrderByStartDesc(owner, LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findFutureByItemOwnerOrderByStartDesc(owner, LocalDateTime.now(), pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemOwnerAndStatusOrderByStartDesc(owner, BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemOwnerAndStatusOrderByStartDesc(owner, BookingStatus.REJECTED, pageable);
-                break;
-        }
+    public List<BookingDto> getUserBookingsAfter(long userId, BookingState state, BookingCursor cursor, Integer size) {
+        List<BookingDto> bookings = searchBookings(BookingSearch.Role.BOOKER, userId, state, cursor,
+                pageableUtility.getLimitFromArgument(size));
+        log.info("get Bookings: a page of bookings with an owner with id {} after {} has been received. " +
+                "List (size = {}) : {}.", userId, cursor, bookings.size(), bookings);
+        return bookings;
+    }
+
+    @Override
+    public List<BookingDto> getUserItemsBookings(long userId, BookingState state, Integer from, Integer size) {
+        List<BookingDto> bookings = searchBookings(BookingSearch.Role.OWNER, userId, state, null,
+                pageableUtility.getPageableFromArguments(from, size));
         log.info("get Bookings: a bookings for the user with id {} items have been received. List (size = {}) : {}.",
                 userId, bookings.size(), bookings);
         return bookings;
     }
 
+    @Override
+    public List<BookingDto> getUserItemsBookingsAfter(
+            long userId, BookingState state, BookingCursor cursor, Integer size) {
+        List<BookingDto> bookings = searchBookings(BookingSearch.Role.OWNER, userId, state, cursor,
+                pageableUtility.getLimitFromArgument(size));
+        log.info("get Bookings: a page of bookings for the user with id {} items after {} has been received. " +
+                "List (size = {}) : {}.", userId, cursor, bookings.size(), bookings);
+        return bookings;
+    }
+
+    private List<BookingDto> searchBookings(BookingSearch.Role role, long userId, BookingState state,
+                                            BookingCursor cursor, Pageable pageable) {
+        findUser(userId);
+        return bookingRepository.search(BookingSearch.builder()
+                .role(role)
+                .userId(userId)
+                .state(state)
+                .now(LocalDateTime.now())
+                .cursor(cursor)
+                .pageable(pageable)
+                .build());
+    }
+
     private User findUser(long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.common.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.common.filter.RequestDecompressionFilter;
+
+@Configuration
+public class CompressionConfig {
+    @Bean
+    public FilterRegistrationBean<RequestDecompressionFilter> requestDecompressionFilter() {
+        FilterRegistrationBean<RequestDecompressionFilter> registration =
+                new FilterRegistrationBean<>(new RequestDecompressionFilter());
+        registration.addUrlPatterns("/*");
+        registration.setName("requestDecompressionFilter");
+        return registration;
+    }
+}
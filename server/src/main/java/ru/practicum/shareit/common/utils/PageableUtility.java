@@ -29,9 +29,20 @@ public class PageableUtility {
             pageable = Pageable.unpaged();
         } else {
             checkPageableArguments(from, size);
-            int page = from / size;
-            pageable = PageRequest.of(page, size);
+            pageable = OffsetPageRequest.of(from, size);
         }
         return pageable;
     }
+
+    public Pageable getLimitFromArgument(Integer size) {
+        if (size == null || size <= 0) {
+            throw new IllegalPageableArgumentsException(
+                    ErrorResponse.builder()
+                            .reason("Cursor pagination")
+                            .error("Argument size: " + size + ".")
+                            .build()
+            );
+        }
+        return PageRequest.of(0, size);
+    }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.exception;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exception.model.ErrorResponse;
+
+@Getter
+@RequiredArgsConstructor
+public class UnsupportedSortException extends RuntimeException {
+    private final ErrorResponse errorResponse;
+}
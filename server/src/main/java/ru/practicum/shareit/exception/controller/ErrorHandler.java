@@ -58,4 +58,20 @@ public class ErrorHandler {
         log.warn("{} : {}", errorResponse.getReason(), errorResponse.getError());
         return errorResponse;
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleUnsupportedSort(UnsupportedSortException e) {
+        ErrorResponse errorResponse = e.getErrorResponse();
+        log.warn("{} : {}", errorResponse.getReason(), errorResponse.getError());
+        return errorResponse;
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlap(BookingOverlapException e) {
+        ErrorResponse errorResponse = e.getErrorResponse();
+        log.warn("{} : {}", errorResponse.getReason(), errorResponse.getError());
+        return errorResponse;
+    }
 }
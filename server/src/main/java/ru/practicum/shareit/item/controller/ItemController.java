@@ -2,16 +2,22 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.UnsupportedSortException;
+import ru.practicum.shareit.exception.model.ErrorResponse;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtraInfoDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchSort;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -46,6 +52,16 @@ public class ItemController {
         return itemService.getItem(id, userId, itemMapper);
     }
 
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto getItemAvailability(
+            @PathVariable long id,
+            @RequestHeader("X-Sharer-User-id") Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /items/{}/availability?from={}&to={}", id, from, to);
+        return itemMapper.toDto(itemService.getItemAvailability(id, userId, from, to));
+    }
+
     @GetMapping
     public List<ItemExtraInfoDto> getItems(@RequestHeader("X-Sharer-User-id") Long userId,
                                            @RequestParam(required = false) Integer from,
@@ -57,10 +73,18 @@ public class ItemController {
     @GetMapping("/search")
     public List<ItemDto> searchItems(@RequestHeader("X-Sharer-User-id") Long userId,
                                      @RequestParam String text,
+                                     @RequestParam(required = false, defaultValue = "ID") String sort,
                                      @RequestParam(required = false) Integer from,
                                      @RequestParam(required = false) Integer size) {
-        log.info("GET /items/search?text={}&from={}&size={}", text, from, size);
-        return itemMapper.toDtoList(itemService.searchItems(userId, text, from, size));
+        log.info("GET /items/search?text={}&sort={}&from={}&size={}", text, sort, from, size);
+        return itemService.searchItems(userId, text, validateSearchSort(sort), from, size);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(@RequestHeader("X-Sharer-User-id") Long userId,
+                                         @RequestParam String prefix) {
+        log.info("GET /items/suggest?prefix={}", prefix);
+        return itemService.suggestItemNames(userId, prefix);
     }
 
     @PostMapping("/{id}/comment")
@@ -71,4 +95,13 @@ public class ItemController {
         Comment comment = commentMapper.toEntity(commentDto);
         return commentMapper.toDto(itemService.addComment(comment, id, userId));
     }
+
+    private ItemSearchSort validateSearchSort(String sort) {
+        return ItemSearchSort.fromString(sort)
+                .orElseThrow(() -> new UnsupportedSortException(ErrorResponse.builder()
+                        .reason("Sort parameter")
+                        .error("Unknown sort: " + sort)
+                        .build()
+                ));
+    }
 }
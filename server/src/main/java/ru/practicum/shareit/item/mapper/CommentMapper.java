@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.mapper;
 
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
@@ -24,6 +25,15 @@ public class CommentMapper {
                 .build();
     }
 
+    public CommentDto toDto(CommentView view) {
+        return CommentDto.builder()
+                .id(view.getId())
+                .authorName(view.getAuthorName())
+                .created(view.getCreated())
+                .text(view.getText())
+                .build();
+    }
+
     public List<CommentDto> toDtoList(List<Comment> comments) {
         return comments.stream()
                 .map(this::toDto)
@@ -3,11 +3,16 @@ package ru.practicum.shareit.item.mapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingInsideItemDto;
+import ru.practicum.shareit.booking.interval.TimeInterval;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtraInfoDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
@@ -41,6 +46,20 @@ public class ItemMapper {
                 .build();
     }
 
+    public ItemExtraInfoDto toExtraInfoDto(ItemDto item, Booking next, Booking last, List<CommentView> comments) {
+        return ItemExtraInfoDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .nextBooking(next == null ? null : buildBookerShortDto(next))
+                .lastBooking(last == null ? null : buildBookerShortDto(last))
+                .comments(comments.stream()
+                        .map(commentMapper::toDto)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     public Item toEntity(ItemDto itemDto) {
         Long requestId = itemDto.getRequestId();
         return Item.builder()
@@ -60,6 +79,25 @@ public class ItemMapper {
                 .collect(Collectors.toList());
     }
 
+    public ItemAvailabilityDto toDto(ItemAvailability availability) {
+        return ItemAvailabilityDto.builder()
+                .itemId(availability.getItemId())
+                .from(availability.getFrom())
+                .to(availability.getTo())
+                .free(toIntervalDtoList(availability.getFree()))
+                .busy(toIntervalDtoList(availability.getBusy()))
+                .build();
+    }
+
+    private List<TimeIntervalDto> toIntervalDtoList(List<TimeInterval> intervals) {
+        return intervals.stream()
+                .map(interval -> TimeIntervalDto.builder()
+                        .start(interval.getStart())
+                        .end(interval.getEnd())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     private BookingInsideItemDto buildBookerShortDto(Booking booking) {
         return BookingInsideItemDto.builder()
                 .id(booking.getId())
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.interval.TimeInterval;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class ItemAvailability {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<TimeInterval> free;
+    private List<TimeInterval> busy;
+}
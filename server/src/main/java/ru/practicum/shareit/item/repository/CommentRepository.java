@@ -2,16 +2,23 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @EntityGraph(attributePaths = {"item", "author"})
-    List<Comment> findByItemIn(List<Item> items);
+    @Query(" select c.id as id, c.item.id as itemId, c.text as text, c.author.name as authorName, " +
+            "c.created as created " +
+            "from Comment c " +
+            "where c.item.id in :itemIds " +
+            "order by c.id")
+    List<CommentView> findViewsByItemIdIn(Collection<Long> itemIds);
 
     @EntityGraph(attributePaths = {"item", "author"})
     List<Comment> findByItem(Item item);
@@ -1,23 +1,40 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    @EntityGraph(attributePaths = {"owner", "request"})
-    List<Item> findByOwnerOrderById(User owner, Pageable pageable);
+    String ITEM_DTO_SELECT = " select new ru.practicum.shareit.item.dto.ItemDto(" +
+            "i.id, i.name, i.description, i.available, i.request.id) ";
 
-    @EntityGraph(attributePaths = {"owner", "request"})
-    @Query(" select i from Item i " +
-            "where i.available = true and (lower(i.name) like lower(concat('%', :query, '%'))" +
-            "    or lower(i.description) like lower(concat('%', :query, '%')))")
-    List<Item> searchByNameOrDescription(String query, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i.id from Item i where i.id in :ids order by i.id")
+    List<Long> lockByIdIn(Collection<Long> ids);
+
+    @Query(ITEM_DTO_SELECT +
+            "from Item i " +
+            "where i.owner.id = :ownerId " +
+            "order by i.id")
+    List<ItemDto> findDtosByOwnerId(long ownerId, Pageable pageable);
+
+    @Query(ITEM_DTO_SELECT +
+            "from Item i " +
+            "where i.id in :ids and i.available = true")
+    List<ItemDto> findAvailableDtosByIdIn(Collection<Long> ids);
+
+    @Query(ITEM_DTO_SELECT +
+            "from Item i " +
+            "where i.request.id in :requestIds " +
+            "order by i.id")
+    List<ItemDto> findDtosByRequestIdIn(Collection<Long> requestIds);
 }
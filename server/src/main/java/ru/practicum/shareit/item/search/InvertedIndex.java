@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+
+public class InvertedIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private final Map<String, NavigableMap<Long, Posting>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalNameLength;
+    private long totalDescriptionLength;
+
+    public void add(long itemId, String name, String description) {
+        remove(itemId);
+        List<String> nameTerms = TextAnalyzer.analyze(name);
+        List<String> descriptionTerms = TextAnalyzer.analyze(description);
+
+        Map<String, Posting> itemPostings = new HashMap<>();
+        for (String term : nameTerms) {
+            itemPostings.computeIfAbsent(term, t -> new Posting()).nameFrequency++;
+        }
+        for (String term : descriptionTerms) {
+            itemPostings.computeIfAbsent(term, t -> new Posting()).descriptionFrequency++;
+        }
+        itemPostings.forEach((term, posting) ->
+                postings.computeIfAbsent(term, t -> new TreeMap<>()).put(itemId, posting));
+
+        documents.put(itemId, new Document(nameTerms.size(), descriptionTerms.size(), itemPostings.keySet()));
+        totalNameLength += nameTerms.size();
+        totalDescriptionLength += descriptionTerms.size();
+    }
+
+    public void remove(long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            NavigableMap<Long, Posting> itemPostings = postings.get(term);
+            itemPostings.remove(itemId);
+            if (itemPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalNameLength -= document.nameLength;
+        totalDescriptionLength -= document.descriptionLength;
+    }
+
+    public double score(long itemId, Collection<String> queryTerms) {
+        Document document = documents.get(itemId);
+        if (document == null) {
+            return 0;
+        }
+        double averageNameLength = Math.max(1.0, (double) totalNameLength / documents.size());
+        double averageDescriptionLength = Math.max(1.0, (double) totalDescriptionLength / documents.size());
+
+        double score = 0;
+        for (String term : queryTerms) {
+            NavigableMap<Long, Posting> itemPostings = postings.get(term);
+            Posting posting = itemPostings == null ? null : itemPostings.get(itemId);
+            if (posting == null) {
+                continue;
+            }
+            double frequency = NAME_WEIGHT * posting.nameFrequency
+                    / (1 - B + B * document.nameLength / averageNameLength)
+                    + DESCRIPTION_WEIGHT * posting.descriptionFrequency
+                    / (1 - B + B * document.descriptionLength / averageDescriptionLength);
+            double idf = Math.log(1 + (documents.size() - itemPostings.size() + 0.5) / (itemPostings.size() + 0.5));
+            score += idf * frequency * (K1 + 1) / (frequency + K1);
+        }
+        return score;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private static class Posting {
+        private int nameFrequency;
+        private int descriptionFrequency;
+    }
+
+    private static class Document {
+        private final int nameLength;
+        private final int descriptionLength;
+        private final Set<String> terms;
+
+        Document(int nameLength, int descriptionLength, Set<String> terms) {
+            this.nameLength = nameLength;
+            this.descriptionLength = descriptionLength;
+            this.terms = terms;
+        }
+    }
+}
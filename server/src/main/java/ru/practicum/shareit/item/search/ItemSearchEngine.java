@@ -0,0 +1,184 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchEngine {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final double NAME_MATCH_BOOST = 1.0;
+    private static final Comparator<ScoredItem> RELEVANCE_ASCENDING = Comparator
+            .comparingDouble((ScoredItem scoredItem) -> scoredItem.score)
+            .thenComparing(scoredItem -> scoredItem.itemId, Comparator.reverseOrder());
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex termIndex = new InvertedIndex();
+    private TrigramIndex trigramIndex = new TrigramIndex();
+    private SuggestionIndex suggestionIndex = new SuggestionIndex();
+    private List<Item> updatesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        InvertedIndex rebuiltTerms = new InvertedIndex();
+        TrigramIndex rebuiltTrigrams = new TrigramIndex();
+        SuggestionIndex rebuiltSuggestions = new SuggestionIndex();
+        lock.writeLock().lock();
+        try {
+            updatesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int replayed;
+        try {
+            Page<Item> page;
+            int pageNumber = 0;
+            do {
+                page = itemRepository.findAll(PageRequest.of(pageNumber++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                page.forEach(item -> apply(item, rebuiltTerms, rebuiltTrigrams, rebuiltSuggestions));
+            } while (page.hasNext());
+
+            lock.writeLock().lock();
+            try {
+                replayed = updatesDuringRebuild.size();
+                updatesDuringRebuild.forEach(item -> apply(item, rebuiltTerms, rebuiltTrigrams, rebuiltSuggestions));
+                termIndex = rebuiltTerms;
+                trigramIndex = rebuiltTrigrams;
+                suggestionIndex = rebuiltSuggestions;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                updatesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("rebuild search index: {} available items have been indexed, {} concurrent updates replayed.",
+                rebuiltTrigrams.size(), replayed);
+    }
+
+    public void index(Item item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(item);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(item);
+            }
+        });
+    }
+
+    public List<Long> search(String query) {
+        lock.readLock().lock();
+        try {
+            return trigramIndex.search(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return suggestionIndex.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> rank(String query, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(query));
+        PriorityQueue<ScoredItem> top = new PriorityQueue<>(RELEVANCE_ASCENDING);
+
+        lock.readLock().lock();
+        try {
+            trigramIndex.match(query, itemId -> {
+                double score = termIndex.score(itemId, terms);
+                if (trigramIndex.nameContains(itemId, query)) {
+                    score += NAME_MATCH_BOOST;
+                }
+                ScoredItem candidate = new ScoredItem(itemId, score);
+                if (top.size() < limit) {
+                    top.add(candidate);
+                } else if (RELEVANCE_ASCENDING.compare(candidate, top.peek()) > 0) {
+                    top.poll();
+                    top.add(candidate);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(top.poll().itemId);
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    private void apply(Item item) {
+        lock.writeLock().lock();
+        try {
+            apply(item, termIndex, trigramIndex, suggestionIndex);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Item item, InvertedIndex terms, TrigramIndex trigrams, SuggestionIndex suggestions) {
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            terms.add(item.getId(), item.getName(), item.getDescription());
+            trigrams.add(item.getId(), item.getName(), item.getDescription());
+            suggestions.add(item.getId(), item.getName());
+        } else {
+            terms.remove(item.getId());
+            trigrams.remove(item.getId());
+            suggestions.remove(item.getId());
+        }
+    }
+
+    private static class ScoredItem {
+        private final long itemId;
+        private final double score;
+
+        ScoredItem(long itemId, double score) {
+            this.itemId = itemId;
+            this.score = score;
+        }
+    }
+}
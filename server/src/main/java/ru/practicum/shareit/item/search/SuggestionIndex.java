@@ -0,0 +1,147 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class SuggestionIndex {
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingInt((Suggestion suggestion) -> suggestion.weight).reversed()
+            .thenComparing(suggestion -> suggestion.name);
+
+    private final Node root = new Node("");
+    private final Map<Long, String> names = new HashMap<>();
+
+    public void add(long itemId, String name) {
+        remove(itemId);
+        names.put(itemId, name);
+        insert(root, TextAnalyzer.normalize(name), 0, itemId, name);
+    }
+
+    public void remove(long itemId) {
+        String name = names.remove(itemId);
+        if (name != null) {
+            delete(root, TextAnalyzer.normalize(name), 0, itemId);
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = TextAnalyzer.normalize(prefix);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefixLength(child.label, key, position);
+            if (position + common < key.length() && common < child.label.length()) {
+                return List.of();
+            }
+            position += common;
+            node = child;
+        }
+        return node.top.stream()
+                .limit(limit)
+                .map(suggestion -> suggestion.name)
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private void insert(Node node, String key, int position, long itemId, String name) {
+        if (position == key.length()) {
+            node.itemIds.add(itemId);
+            node.name = name;
+        } else {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.children.put(child.label.charAt(0), child);
+            }
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                child = split(node, child, common);
+            }
+            insert(child, key, position + common, itemId, name);
+        }
+        node.updateTop();
+    }
+
+    private void delete(Node node, String key, int position, long itemId) {
+        if (position == key.length()) {
+            node.itemIds.remove(itemId);
+            node.name = node.itemIds.isEmpty() ? null : names.get(node.itemIds.iterator().next());
+        } else {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null) {
+                return;
+            }
+            delete(child, key, position + child.label.length(), itemId);
+            if (child.itemIds.isEmpty() && child.children.isEmpty()) {
+                node.children.remove(child.label.charAt(0));
+            } else if (child.itemIds.isEmpty() && child.children.size() == 1) {
+                Node grandChild = child.children.values().iterator().next();
+                grandChild.label = child.label + grandChild.label;
+                node.children.put(grandChild.label.charAt(0), grandChild);
+            }
+        }
+        node.updateTop();
+    }
+
+    private Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        child.label = child.label.substring(at);
+        middle.children.put(child.label.charAt(0), child);
+        middle.updateTop();
+        parent.children.put(middle.label.charAt(0), middle);
+        return middle;
+    }
+
+    private static int commonPrefixLength(String label, String key, int position) {
+        int length = Math.min(label.length(), key.length() - position);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(position + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static class Node {
+        private String label;
+        private String name;
+        private final Set<Long> itemIds = new HashSet<>(1);
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private List<Suggestion> top = List.of();
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        void updateTop() {
+            List<Suggestion> candidates = new ArrayList<>();
+            if (!itemIds.isEmpty()) {
+                candidates.add(new Suggestion(name, itemIds.size()));
+            }
+            for (Node child : children.values()) {
+                candidates.addAll(child.top);
+            }
+            candidates.sort(BEST_FIRST);
+            top = candidates.size() > MAX_SUGGESTIONS
+                    ? List.copyOf(candidates.subList(0, MAX_SUGGESTIONS))
+                    : List.copyOf(candidates);
+        }
+    }
+
+    private static class Suggestion {
+        private final String name;
+        private final int weight;
+
+        Suggestion(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+}
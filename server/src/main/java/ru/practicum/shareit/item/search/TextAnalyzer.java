@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class TextAnalyzer {
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private TextAnalyzer() {
+    }
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(stem(normalized.substring(start, i)));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String word) {
+        if (word.endsWith("ies") && word.length() > MIN_STEM_LENGTH + 2) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.endsWith("ing") && word.length() > MIN_STEM_LENGTH + 3) {
+            return word.substring(0, word.length() - 3);
+        }
+        if (word.endsWith("ed") && word.length() > MIN_STEM_LENGTH + 2) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.endsWith("es") && word.length() > MIN_STEM_LENGTH + 2 && isSibilantEnding(word)) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && word.length() > MIN_STEM_LENGTH) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static boolean isSibilantEnding(String word) {
+        String base = word.substring(0, word.length() - 2);
+        return base.endsWith("s") || base.endsWith("x") || base.endsWith("z")
+                || base.endsWith("ch") || base.endsWith("sh");
+    }
+}
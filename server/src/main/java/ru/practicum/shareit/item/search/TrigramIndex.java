@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+import java.util.function.LongConsumer;
+
+public class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, NavigableSet<Long>> postings = new HashMap<>();
+    private final NavigableMap<Long, Document> documents = new TreeMap<>();
+
+    public void add(long itemId, String name, String description) {
+        remove(itemId);
+        Document document = new Document(TextAnalyzer.normalize(name), TextAnalyzer.normalize(description));
+        for (Long gram : document.grams()) {
+            postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(itemId);
+        }
+        documents.put(itemId, document);
+    }
+
+    public void remove(long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (Long gram : document.grams()) {
+            NavigableSet<Long> ids = postings.get(gram);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    public List<Long> search(String query) {
+        List<Long> result = new ArrayList<>();
+        match(query, result::add);
+        return result;
+    }
+
+    public void match(String query, LongConsumer consumer) {
+        String normalized = TextAnalyzer.normalize(query);
+        if (normalized.length() < GRAM_LENGTH) {
+            scan(normalized, consumer);
+            return;
+        }
+
+        List<NavigableSet<Long>> lists = new ArrayList<>();
+        for (Long gram : grams(normalized)) {
+            NavigableSet<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return;
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        for (Long id : lists.get(0)) {
+            if (containsInAll(lists, id) && documents.get(id).contains(normalized)) {
+                consumer.accept(id);
+            }
+        }
+    }
+
+    public boolean nameContains(long itemId, String query) {
+        Document document = documents.get(itemId);
+        return document != null && document.name.contains(TextAnalyzer.normalize(query));
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private void scan(String normalized, LongConsumer consumer) {
+        documents.forEach((id, document) -> {
+            if (document.contains(normalized)) {
+                consumer.accept(id);
+            }
+        });
+    }
+
+    private boolean containsInAll(List<NavigableSet<Long>> lists, Long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static class Document {
+        private final String name;
+        private final String description;
+
+        Document(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        Set<Long> grams() {
+            Set<Long> grams = TrigramIndex.grams(name);
+            grams.addAll(TrigramIndex.grams(description));
+            return grams;
+        }
+
+        boolean contains(String normalized) {
+            return name.contains(normalized) || description.contains(normalized);
+        }
+    }
+}
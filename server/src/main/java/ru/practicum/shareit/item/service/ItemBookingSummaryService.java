@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ItemBookingSummaryService {
+    Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds);
+
+    void refresh(long itemId);
+}
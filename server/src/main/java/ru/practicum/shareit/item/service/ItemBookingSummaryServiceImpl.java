@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final ItemBookingSummaryStore summaryStore;
+    private final Set<Long> pendingItemIds = ConcurrentHashMap.newKeySet();
+    private final ExecutorService storeExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "item-booking-summary-store");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        for (ItemBookingSummary summary : summaryRepository.findByItemIdIn(itemIds)) {
+            if (summary.isValidAt(now)) {
+                summaries.put(summary.getItemId(), summary);
+            }
+        }
+
+        List<Long> staleItemIds = itemIds.stream()
+                .filter(id -> !summaries.containsKey(id))
+                .sorted()
+                .collect(Collectors.toList());
+        if (!staleItemIds.isEmpty()) {
+            summaryStore.compute(staleItemIds, now).forEach(summary -> summaries.put(summary.getItemId(), summary));
+            storeAfterCompletion(staleItemIds);
+        }
+        return summaries;
+    }
+
+    @Transactional
+    @Override
+    public void refresh(long itemId) {
+        summaryStore.refresh(itemId);
+        log.info("refresh booking summary: the summary for the item with id {} has been recomputed.", itemId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        storeExecutor.shutdown();
+    }
+
+    private void storeAfterCompletion(List<Long> staleItemIds) {
+        List<Long> itemIds = staleItemIds.stream()
+                .filter(pendingItemIds::add)
+                .collect(Collectors.toList());
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            storeExecutor.execute(() -> store(itemIds));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                storeExecutor.execute(() -> store(itemIds));
+            }
+        });
+    }
+
+    private void store(List<Long> itemIds) {
+        try {
+            int stored = summaryStore.storeStale(itemIds);
+            log.info("store booking summaries: {} stale summaries of the items with ids {} have been stored.",
+                    stored, itemIds);
+        } catch (RuntimeException e) {
+            log.warn("store booking summaries: the summaries of the items with ids {} have not been stored.",
+                    itemIds, e);
+        } finally {
+            itemIds.forEach(pendingItemIds::remove);
+        }
+    }
+}
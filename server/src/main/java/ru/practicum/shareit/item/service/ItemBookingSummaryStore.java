@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryStore {
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+
+    @Transactional
+    public void refresh(long itemId) {
+        if (!itemRepository.lockByIdIn(List.of(itemId)).isEmpty()) {
+            summaryRepository.saveAll(compute(List.of(itemId), LocalDateTime.now()));
+        }
+    }
+
+    @Transactional
+    public int storeStale(Collection<Long> itemIds) {
+        List<Long> staleItemIds = new ArrayList<>(itemRepository.lockByIdIn(itemIds));
+        LocalDateTime now = LocalDateTime.now();
+        summaryRepository.findByItemIdIn(staleItemIds).stream()
+                .filter(summary -> summary.isValidAt(now))
+                .forEach(summary -> staleItemIds.remove(summary.getItemId()));
+        if (!staleItemIds.isEmpty()) {
+            summaryRepository.saveAll(compute(staleItemIds, now));
+        }
+        return staleItemIds.size();
+    }
+
+    public Collection<ItemBookingSummary> compute(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        for (Long itemId : itemIds) {
+            summaries.put(itemId, ItemBookingSummary.builder().itemId(itemId).build());
+        }
+        for (Booking booking : bookingRepository.findLastAndNextApprovedByItemIdIn(itemIds, now)) {
+            ItemBookingSummary summary = summaries.get(booking.getItem().getId());
+            if (booking.getStart().isAfter(now)) {
+                summary.setNextBooking(booking);
+                summary.setValidUntil(booking.getStart());
+            } else {
+                summary.setLastBooking(booking);
+            }
+        }
+        return summaries.values();
+    }
+}
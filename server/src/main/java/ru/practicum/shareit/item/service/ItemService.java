@@ -1,10 +1,14 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtraInfoDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
+import ru.practicum.shareit.item.search.ItemSearchSort;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -16,7 +20,11 @@ public interface ItemService {
 
     List<ItemExtraInfoDto> getUserItems(long userId, Integer from, Integer size, ItemMapper itemMapper);
 
-    List<Item> searchItems(long userId, String query, Integer from, Integer size);
+    ItemAvailability getItemAvailability(long id, long userId, LocalDateTime from, LocalDateTime to);
+
+    List<ItemDto> searchItems(long userId, String query, ItemSearchSort sort, Integer from, Integer size);
+
+    List<String> suggestItemNames(long userId, String prefix);
 
     Comment addComment(Comment comment, long itemId, long userId);
 }
@@ -5,41 +5,55 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingCalendar;
+import ru.practicum.shareit.booking.interval.TimeInterval;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.common.utils.PageableUtility;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ItemWasNotBeRentedException;
 import ru.practicum.shareit.exception.UserWithoutAccessRightsException;
 import ru.practicum.shareit.exception.model.ErrorResponse;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtraInfoDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchSort;
+import ru.practicum.shareit.item.search.SuggestionIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int DEFAULT_RANKED_LIMIT = 100;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
     private final PageableUtility pageableUtility;
+    private final ItemSearchEngine searchEngine;
+    private final ItemBookingSummaryService summaryService;
+    private final BookingCalendar bookingCalendar;
 
     @Override
     public Item addItem(Item item, long userId) {
@@ -48,6 +62,7 @@ public class ItemServiceImpl implements ItemService {
         }
         item.setOwner(findUser(userId));
         Item addedItem = itemRepository.save(item);
+        searchEngine.index(addedItem);
         log.info("add Item: an item with an id {} and owner id {} has been added. Item : {}.",
                 addedItem.getId(), userId, addedItem);
         return addedItem;
@@ -62,6 +77,7 @@ public class ItemServiceImpl implements ItemService {
         updateNonNullProperties(itemToUpdate, item);
 
         Item updatedItem = itemRepository.save(itemToUpdate);
+        searchEngine.index(updatedItem);
         log.info("update Item: an item with an id {} and owner id {} has been updated. Item : {}.",
                 updatedItem.getId(), userId, updatedItem);
         return updatedItem;
@@ -81,9 +97,9 @@ public class ItemServiceImpl implements ItemService {
             return dto;
         }
 
-        List<Booking> bookings = bookingRepository.findByItemAndStatus(item, BookingStatus.APPROVED);
+        ItemBookingSummary summary = summaryService.getSummaries(List.of(item.getId())).get(item.getId());
 
-        ItemExtraInfoDto dto = findLastAndNextBookingForItem(item, bookings, comments, itemMapper);
+        ItemExtraInfoDto dto = toExtraInfoDto(item, summary, comments, itemMapper);
         log.info("get Item: a item with an id {} has been received. Item : {}.", item.getId(), dto);
         return dto;
     }
@@ -91,25 +107,24 @@ public class ItemServiceImpl implements ItemService {
     @Transactional(readOnly = true)
     @Override
     public List<ItemExtraInfoDto> getUserItems(long userId, Integer from, Integer size, ItemMapper itemMapper) {
-        User owner = findUser(userId);
+        checkUserExistence(userId);
         Pageable pageable = pageableUtility.getPageableFromArguments(from, size);
 
-        List<Item> items = itemRepository.findByOwnerOrderById(owner, pageable);
-
-        List<Comment> comments = commentRepository.findByItemIn(items);
-        List<Booking> bookings = bookingRepository.findByItemInAndStatusOrderByItem(
-                items, BookingStatus.APPROVED);
+        List<ItemDto> items = itemRepository.findDtosByOwnerId(userId, pageable);
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<Long> itemIds = items.stream().map(ItemDto::getId).collect(Collectors.toList());
 
-        Map<Item, List<Comment>> commentsByItem = comments.stream()
-                .collect(Collectors.groupingBy(Comment::getItem));
-        Map<Item, List<Booking>> bookingsByItem = bookings.stream()
-                .collect(Collectors.groupingBy(Booking::getItem));
+        Map<Long, List<CommentView>> commentsByItem = commentRepository.findViewsByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId));
+        Map<Long, ItemBookingSummary> summaries = summaryService.getSummaries(itemIds);
 
         List<ItemExtraInfoDto> extraInfoItems = items.stream()
-                .map(i -> findLastAndNextBookingForItem(
+                .map(i -> toExtraInfoDto(
                         i,
-                        bookingsByItem.getOrDefault(i, List.of()),
-                        commentsByItem.getOrDefault(i, List.of()),
+                        summaries.get(i.getId()),
+                        commentsByItem.getOrDefault(i.getId(), List.of()),
                         itemMapper)
                 ).collect(Collectors.toList());
         log.info("get user's Items: the list of items of the user with id {} has been received. List (size = {}) : {}.",
@@ -118,15 +133,47 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<Item> searchItems(long userId, String query, Integer from, Integer size) {
+    public ItemAvailability getItemAvailability(long id, long userId, LocalDateTime from, LocalDateTime to) {
+        checkUserExistence(userId);
+        checkItemExistence(id);
+
+        List<TimeInterval> busy = bookingCalendar.getBusyIntervals(id, from, to);
+        ItemAvailability availability = ItemAvailability.builder()
+                .itemId(id)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .free(bookingCalendar.getFreeIntervals(busy, from, to))
+                .build();
+        log.info("get Item availability: the availability of the item with id {} has been received. Availability : {}.",
+                id, availability);
+        return availability;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemDto> searchItems(long userId, String query, ItemSearchSort sort, Integer from, Integer size) {
         checkUserExistence(userId);
         Pageable pageable = pageableUtility.getPageableFromArguments(from, size);
-        List<Item> items = itemRepository.searchByNameOrDescription(query, pageable);
-        log.info("The list of items requested by query \"{}\" has been received. List (size = {}) {}.",
-                query, items.size(), items);
+        List<Long> matches = sort == ItemSearchSort.RELEVANCE
+                ? searchEngine.rank(query, getRankLimit(pageable))
+                : searchEngine.search(query);
+        List<Long> ids = getPage(matches, pageable);
+        List<ItemDto> items = findAvailableItemsInOrder(ids);
+        log.info("The list of items requested by query \"{}\" (sort = {}) has been received. List (size = {}) {}.",
+                query, sort, items.size(), items);
         return items;
     }
 
+    @Override
+    public List<String> suggestItemNames(long userId, String prefix) {
+        checkUserExistence(userId);
+        List<String> suggestions = searchEngine.suggest(prefix, SuggestionIndex.MAX_SUGGESTIONS);
+        log.info("Item name suggestions for prefix \"{}\" have been received. List (size = {}) {}.",
+                prefix, suggestions.size(), suggestions);
+        return suggestions;
+    }
+
     @Override
     public Comment addComment(Comment comment, long itemId, long userId) {
         Item item = findItem(itemId);
@@ -175,28 +222,48 @@ public class ItemServiceImpl implements ItemService {
                 ));
     }
 
-    private ItemExtraInfoDto findLastAndNextBookingForItem(
-            Item i, List<Booking> bookings, List<Comment> comments, ItemMapper itemMapper) {
+    private int getRankLimit(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return DEFAULT_RANKED_LIMIT;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+    }
+
+    private List<Long> getPage(List<Long> ids, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return ids;
+        }
+        int fromIndex = (int) Math.min(pageable.getOffset(), ids.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), ids.size());
+        return ids.subList(fromIndex, toIndex);
+    }
 
-        LocalDateTime now = LocalDateTime.now();
+    private List<ItemDto> findAvailableItemsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ItemDto> itemsById = itemRepository.findAvailableDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        return ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
-        Booking next = bookings.stream()
-                .filter(b -> b.getStart().isAfter(now))
-                .min(Comparator.comparing(Booking::getStart))
-                .orElse(null);
+    private ItemExtraInfoDto toExtraInfoDto(
+            Item i, ItemBookingSummary summary, List<Comment> comments, ItemMapper itemMapper) {
+        if (summary == null) {
+            return itemMapper.toDto(i, null, null, comments);
+        }
+        return itemMapper.toDto(i, summary.getNextBooking(), summary.getLastBooking(), comments);
+    }
 
-        Booking last;
-        if (next == null) {
-            last = !bookings.isEmpty()
-                    ? bookings.get(bookings.size() - 1)
-                    : null;
-        } else {
-            last = bookings.stream()
-                    .filter(b -> b.getEnd().isBefore(next.getStart()))
-                    .max(Comparator.comparing(Booking::getEnd))
-                    .orElse(null);
+    private ItemExtraInfoDto toExtraInfoDto(
+            ItemDto i, ItemBookingSummary summary, List<CommentView> comments, ItemMapper itemMapper) {
+        if (summary == null) {
+            return itemMapper.toExtraInfoDto(i, null, null, comments);
         }
-        return itemMapper.toDto(i, next, last, comments);
+        return itemMapper.toExtraInfoDto(i, summary.getNextBooking(), summary.getLastBooking(), comments);
     }
 
     private void updateNonNullProperties(Item existingItem, Item newItem) {
@@ -234,6 +301,16 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    private void checkItemExistence(long id) {
+        if (!itemRepository.existsById(id)) {
+            throw new EntityNotFoundException(ErrorResponse.builder()
+                    .reason("Item repository")
+                    .error("Item with id " + id + " does not exist!")
+                    .build()
+            );
+        }
+    }
+
     private void checkUserRentedItem(Item item, User booker) {
         if (!bookingRepository.existsByItemAndBookerAndStatusAndEndBefore(
                 item, booker, BookingStatus.APPROVED, LocalDateTime.now())) {
@@ -30,7 +30,7 @@ public class ItemRequestController {
     @GetMapping
     public List<ItemRequestDto> getUserItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Get /requests (X-Sharer-User-id = {})", userId);
-        return requestMapper.toDtoList(requestService.getUserRequests(userId));
+        return requestService.getUserRequests(userId);
     }
 
     @GetMapping("/all")
@@ -38,7 +38,7 @@ public class ItemRequestController {
                                                    @RequestParam(required = false) Integer from,
                                                    @RequestParam(required = false) Integer size) {
         log.info("Get /requests/all?from={}&size={} (X-Sharer-User-id = {})", from, size, userId);
-        return requestMapper.toDtoList(requestService.getAllRequests(from, size, userId));
+        return requestService.getAllRequests(from, size, userId);
     }
 
     @GetMapping("/{requestId}")
@@ -2,13 +2,16 @@ package ru.practicum.shareit.request.mapper;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -32,6 +35,21 @@ public class ItemRequestMapper {
                 .build();
     }
 
+    public ItemRequestDto toDto(ItemRequestView request, List<ItemDto> items) {
+        return ItemRequestDto.builder()
+                .id(request.getId())
+                .created(request.getCreated())
+                .description(request.getDescription())
+                .items(items)
+                .build();
+    }
+
+    public List<ItemRequestDto> toDtoList(List<ItemRequestView> requests, Map<Long, List<ItemDto>> itemsByRequest) {
+        return requests.stream()
+                .map(request -> toDto(request, itemsByRequest.getOrDefault(request.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     public List<ItemRequestDto> toDtoList(List<ItemRequest> requests) {
         return requests.stream()
                 .map(this::toDto)
@@ -1,19 +1,25 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    @EntityGraph(attributePaths = {"user", "items"})
-    List<ItemRequest> findByUser(User user);
+    @Query(" select r.id as id, r.description as description, r.created as created " +
+            "from ItemRequest r " +
+            "where r.user.id = :userId " +
+            "order by r.id")
+    List<ItemRequestView> findViewsByUserId(long userId);
 
-    @EntityGraph(attributePaths = {"user", "items"})
-    List<ItemRequest> findByUserNot(User user, Pageable pageable);
+    @Query(" select r.id as id, r.description as description, r.created as created " +
+            "from ItemRequest r " +
+            "where r.user.id <> :userId " +
+            "order by r.id")
+    List<ItemRequestView> findViewsByUserIdNot(long userId, Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
@@ -7,9 +8,9 @@ import java.util.List;
 public interface ItemRequestService {
     ItemRequest addRequest(ItemRequest request, long userId);
 
-    List<ItemRequest> getUserRequests(long userId);
+    List<ItemRequestDto> getUserRequests(long userId);
 
-    List<ItemRequest> getAllRequests(Integer from, Integer size, long userId);
+    List<ItemRequestDto> getAllRequests(Integer from, Integer size, long userId);
 
     ItemRequest getRequest(long requestId, long userId);
 }
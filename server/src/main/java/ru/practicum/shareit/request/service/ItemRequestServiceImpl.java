@@ -4,9 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.common.utils.PageableUtility;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.model.ErrorResponse;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestView;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -14,6 +20,8 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -21,7 +29,9 @@ import java.util.List;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
     private final PageableUtility pageableUtility;
+    private final ItemRequestMapper requestMapper;
 
     @Override
     public ItemRequest addRequest(ItemRequest request, long userId) {
@@ -42,25 +52,38 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return request;
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public List<ItemRequest> getUserRequests(long userId) {
-        User user = findUser(userId);
-        List<ItemRequest> foundRequests = requestRepository.findByUser(user);
+    public List<ItemRequestDto> getUserRequests(long userId) {
+        checkUserExistence(userId);
+        List<ItemRequestView> requests = requestRepository.findViewsByUserId(userId);
+        List<ItemRequestDto> foundRequests = requestMapper.toDtoList(requests, findItemsByRequest(requests));
         log.info("get user's ItemRequest: the list of item requests of the user with id {} has been received. " +
                 "List (size = {}) : {}.", userId, foundRequests.size(), foundRequests);
         return foundRequests;
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public List<ItemRequest> getAllRequests(Integer from, Integer size, long userId) {
-        User user = findUser(userId);
+    public List<ItemRequestDto> getAllRequests(Integer from, Integer size, long userId) {
+        checkUserExistence(userId);
         Pageable pageable = pageableUtility.getPageableFromArguments(from, size);
-        List<ItemRequest> foundRequests = requestRepository.findByUserNot(user, pageable);
+        List<ItemRequestView> requests = requestRepository.findViewsByUserIdNot(userId, pageable);
+        List<ItemRequestDto> foundRequests = requestMapper.toDtoList(requests, findItemsByRequest(requests));
         log.info("get not user's ItemRequest: the list of item requests of the user with id {} has been " +
                 "received. List (size = {}) : {}.", userId, foundRequests.size(), foundRequests);
         return foundRequests;
     }
 
+    private Map<Long, List<ItemDto>> findItemsByRequest(List<ItemRequestView> requests) {
+        if (requests.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> requestIds = requests.stream().map(ItemRequestView::getId).collect(Collectors.toList());
+        return itemRepository.findDtosByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+    }
+
     private User findUser(long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -1,4 +1,4 @@
-CREATE TABLE IF NOT EXISTS users
+CREATE TABLE users
 (
     id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name  VARCHAR(255) NOT NULL,
@@ -6,16 +6,16 @@ CREATE TABLE IF NOT EXISTS users
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
-CREATE TABLE IF NOT EXISTS requests
+CREATE TABLE requests
 (
     id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    name          VARCHAR(255) NOT NULL,
-    requester_id  BIGINT       NOT NULL,
-    creation_date TIMESTAMP    NOT NULL,
+    description   VARCHAR(1000) NOT NULL,
+    requester_id  BIGINT        NOT NULL,
+    creation_date TIMESTAMP     NOT NULL,
     FOREIGN KEY (requester_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS items
+CREATE TABLE items
 (
     id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name         VARCHAR(255)  NOT NULL,
@@ -27,7 +27,7 @@ CREATE TABLE IF NOT EXISTS items
     FOREIGN KEY (request_id) REFERENCES requests (id)
 );
 
-CREATE TABLE IF NOT EXISTS bookings
+CREATE TABLE bookings
 (
     id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     start_date TIMESTAMP   NOT NULL,
@@ -39,7 +39,7 @@ CREATE TABLE IF NOT EXISTS bookings
     FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS comments
+CREATE TABLE comments
 (
     id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     text          VARCHAR(2000) NOT NULL,
@@ -48,4 +48,18 @@ CREATE TABLE IF NOT EXISTS comments
     creation_date TIMESTAMP     NOT NULL,
     FOREIGN KEY (item_id) REFERENCES items (id),
     FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE TABLE item_booking_summary
+(
+    item_id         BIGINT PRIMARY KEY,
+    last_booking_id BIGINT,
+    next_booking_id BIGINT,
+    valid_until     TIMESTAMP,
+    FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+    FOREIGN KEY (last_booking_id) REFERENCES bookings (id),
+    FOREIGN KEY (next_booking_id) REFERENCES bookings (id)
+);
+
+CREATE INDEX bookings_item_start_end_idx ON bookings (item_id, start_date, end_date);
+CREATE INDEX bookings_booker_start_id_idx ON bookings (booker_id, start_date DESC, id DESC);
@@ -0,0 +1,6 @@
+CREATE INDEX bookings_booker_status_start_id_idx ON bookings (booker_id, status, start_date DESC, id DESC);
+CREATE INDEX bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+CREATE INDEX items_owner_id_idx ON items (owner_id, id);
+CREATE INDEX items_request_id_idx ON items (request_id);
+CREATE INDEX comments_item_id_idx ON comments (item_id);
+CREATE INDEX requests_requester_creation_date_idx ON requests (requester_id, creation_date DESC);
@@ -0,0 +1,2 @@
+DROP INDEX requests_requester_creation_date_idx;
+CREATE INDEX requests_requester_id_idx ON requests (requester_id, id);
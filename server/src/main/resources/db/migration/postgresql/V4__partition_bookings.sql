@@ -0,0 +1,88 @@
+ALTER TABLE item_booking_summary DROP CONSTRAINT item_booking_summary_last_booking_id_fkey;
+ALTER TABLE item_booking_summary DROP CONSTRAINT item_booking_summary_next_booking_id_fkey;
+
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+
+CREATE TABLE bookings
+(
+    id         BIGINT      NOT NULL,
+    start_date TIMESTAMP   NOT NULL,
+    end_date   TIMESTAMP   NOT NULL,
+    item_id    BIGINT      NOT NULL,
+    booker_id  BIGINT      NOT NULL,
+    status     VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id, end_date),
+    FOREIGN KEY (item_id) REFERENCES items (id),
+    FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE
+) PARTITION BY RANGE (end_date);
+
+DO
+$$
+    DECLARE
+        archive_bound TIMESTAMP := date_trunc('day', localtimestamp) - INTERVAL '30 days';
+    BEGIN
+        EXECUTE format('CREATE TABLE bookings_archive PARTITION OF bookings '
+                           'FOR VALUES FROM (MINVALUE) TO (%L) PARTITION BY RANGE (end_date)', archive_bound);
+        EXECUTE format('CREATE TABLE bookings_archive_initial PARTITION OF bookings_archive (CHECK (end_date < %L)) '
+                           'FOR VALUES FROM (MINVALUE) TO (%L)', archive_bound, archive_bound);
+        EXECUTE format('CREATE TABLE bookings_hot PARTITION OF bookings '
+                           'FOR VALUES FROM (%L) TO (MAXVALUE)', archive_bound);
+    END
+$$;
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+SELECT id, start_date, end_date, item_id, booker_id, status
+FROM bookings_unpartitioned;
+
+DROP TABLE bookings_unpartitioned;
+
+CREATE SEQUENCE bookings_id_seq OWNED BY bookings.id;
+SELECT setval('bookings_id_seq', coalesce(max(id), 0) + 1, false) FROM bookings;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_id_seq');
+
+CREATE INDEX bookings_item_start_end_idx ON bookings (item_id, start_date, end_date);
+CREATE INDEX bookings_booker_start_id_idx ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX bookings_booker_status_start_id_idx ON bookings (booker_id, status, start_date DESC, id DESC);
+CREATE INDEX bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+
+CREATE FUNCTION bookings_archive_bound() RETURNS TIMESTAMP
+    LANGUAGE sql
+    STABLE
+AS
+$$
+SELECT substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \(''([^'']+)''\)')::TIMESTAMP
+FROM pg_class c
+WHERE c.oid = 'bookings_archive'::regclass
+$$;
+
+CREATE FUNCTION archive_bookings(ended_before TIMESTAMP) RETURNS BIGINT
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    old_bound TIMESTAMP := bookings_archive_bound();
+    chunk     TEXT      := 'bookings_archive_' || to_char(ended_before, 'YYYYMMDDHH24MISS');
+    moved     BIGINT;
+BEGIN
+    IF ended_before <= old_bound THEN
+        RETURN 0;
+    END IF;
+
+    ALTER TABLE bookings DETACH PARTITION bookings_hot;
+    ALTER TABLE bookings DETACH PARTITION bookings_archive;
+
+    EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS, CHECK (end_date >= %L AND end_date < %L))',
+                   chunk, old_bound, ended_before);
+    EXECUTE format('WITH moved AS (DELETE FROM bookings_hot WHERE end_date < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved', ended_before, chunk);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+
+    EXECUTE format('ALTER TABLE bookings_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   chunk, old_bound, ended_before);
+    EXECUTE format('ALTER TABLE bookings ATTACH PARTITION bookings_archive FOR VALUES FROM (MINVALUE) TO (%L)',
+                   ended_before);
+    EXECUTE format('ALTER TABLE bookings ATTACH PARTITION bookings_hot FOR VALUES FROM (%L) TO (MAXVALUE)',
+                   ended_before);
+    RETURN moved;
+END
+$$;
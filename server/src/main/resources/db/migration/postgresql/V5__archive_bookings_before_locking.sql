@@ -0,0 +1,40 @@
+-- archive_bookings runs in the caller's transaction. Rows are moved while every partition is still attached, so
+-- this step only takes ROW EXCLUSIVE locks. The DETACH/ATTACH steps then take ACCESS EXCLUSIVE locks on bookings,
+-- bookings_hot and bookings_archive, which are held until commit. Adding the CHECK on bookings_hot costs one
+-- read-only scan of the hot partition. Each attached table carries a CHECK that implies its new bound, so the
+-- ATTACH steps skip their validation scans.
+CREATE OR REPLACE FUNCTION archive_bookings(ended_before TIMESTAMP) RETURNS BIGINT
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    old_bound TIMESTAMP := bookings_archive_bound();
+    chunk     TEXT      := 'bookings_archive_' || to_char(ended_before, 'YYYYMMDDHH24MISS');
+    moved     BIGINT;
+BEGIN
+    IF ended_before <= old_bound THEN
+        RETURN 0;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS, CHECK (end_date >= %L AND end_date < %L))',
+                   chunk, old_bound, ended_before);
+    EXECUTE format('WITH moved AS (DELETE FROM bookings_hot WHERE end_date < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved', ended_before, chunk);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+
+    ALTER TABLE bookings_hot DROP CONSTRAINT IF EXISTS bookings_hot_end_date_check;
+    EXECUTE format('ALTER TABLE bookings_hot ADD CONSTRAINT bookings_hot_end_date_check CHECK (end_date >= %L)',
+                   ended_before);
+
+    ALTER TABLE bookings DETACH PARTITION bookings_hot;
+    ALTER TABLE bookings DETACH PARTITION bookings_archive;
+
+    EXECUTE format('ALTER TABLE bookings_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   chunk, old_bound, ended_before);
+    EXECUTE format('ALTER TABLE bookings ATTACH PARTITION bookings_archive FOR VALUES FROM (MINVALUE) TO (%L)',
+                   ended_before);
+    EXECUTE format('ALTER TABLE bookings ATTACH PARTITION bookings_hot FOR VALUES FROM (%L) TO (MAXVALUE)',
+                   ended_before);
+    RETURN moved;
+END
+$$;
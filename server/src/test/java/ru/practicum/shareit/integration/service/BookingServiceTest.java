@@ -8,9 +8,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
@@ -34,6 +36,7 @@ public class BookingServiceTest {
     private User owner;
     private User booker;
     private Item item;
+    private Item item2;
     private Booking bookingStartMinus7EndMinus5;
     private Booking bookingStartMinus1EndPlus1;
     private Booking bookingStartPlus1EndPlus2;
@@ -59,6 +62,13 @@ public class BookingServiceTest {
                 .available(true)
                 .build();
 
+        item2 = Item.builder()
+                .owner(owner)
+                .name("item2")
+                .description("item2 description")
+                .available(true)
+                .build();
+
         bookingStartMinus7EndMinus5 = Booking.builder()
                 .item(item)
                 .start(LocalDateTime.now().minusDays(7))
@@ -78,13 +88,13 @@ public class BookingServiceTest {
                 .build();
 
         bookingStartMinus2EndPlus2 = Booking.builder()
-                .item(item)
+                .item(item2)
                 .start(LocalDateTime.now().minusDays(2))
                 .end(LocalDateTime.now().plusDays(2))
                 .build();
 
         bookingStartMinus8EndMinus7 = Booking.builder()
-                .item(item)
+                .item(item2)
                 .start(LocalDateTime.now().minusDays(8))
                 .end(LocalDateTime.now().minusDays(7))
                 .build();
@@ -98,6 +108,7 @@ public class BookingServiceTest {
         User owner = userService.addUser(this.owner);
         User booker = userService.addUser(this.booker);
         itemService.addItem(this.item, owner.getId());
+        itemService.addItem(this.item2, owner.getId());
 
         Booking bookingStartMinus7EndMinus5 = bookingService.addBooking(
                 this.bookingStartMinus7EndMinus5, booker.getId());
@@ -110,31 +121,31 @@ public class BookingServiceTest {
         Booking bookingStartMinus8EndMinus7 = bookingService.addBooking(
                 this.bookingStartMinus8EndMinus7, booker.getId());
 
-        List<Booking> bookings = bookingService.getUserBookings(booker.getId(), BookingState.ALL, null, null);
+        List<BookingDto> bookings = bookingService.getUserBookings(booker.getId(), BookingState.ALL, null, null);
 
         assertThat(bookings.size()).isEqualTo(5);
-        assertThat(bookings.get(0)).isEqualTo(bookingStartPlus1EndPlus2);
-        assertThat(bookings.get(1)).isEqualTo(bookingStartMinus1EndPlus1);
-        assertThat(bookings.get(2)).isEqualTo(bookingStartMinus2EndPlus2);
-        assertThat(bookings.get(3)).isEqualTo(bookingStartMinus7EndMinus5);
-        assertThat(bookings.get(4)).isEqualTo(bookingStartMinus8EndMinus7);
+        assertThat(bookings.get(0).getId()).isEqualTo(bookingStartPlus1EndPlus2.getId());
+        assertThat(bookings.get(1).getId()).isEqualTo(bookingStartMinus1EndPlus1.getId());
+        assertThat(bookings.get(2).getId()).isEqualTo(bookingStartMinus2EndPlus2.getId());
+        assertThat(bookings.get(3).getId()).isEqualTo(bookingStartMinus7EndMinus5.getId());
+        assertThat(bookings.get(4).getId()).isEqualTo(bookingStartMinus8EndMinus7.getId());
 
         bookings = bookingService.getUserBookings(booker.getId(), BookingState.CURRENT, null, null);
 
         assertThat(bookings.size()).isEqualTo(2);
-        assertThat(bookings.get(0)).isEqualTo(bookingStartMinus1EndPlus1);
-        assertThat(bookings.get(1)).isEqualTo(bookingStartMinus2EndPlus2);
+        assertThat(bookings.get(0).getId()).isEqualTo(bookingStartMinus1EndPlus1.getId());
+        assertThat(bookings.get(1).getId()).isEqualTo(bookingStartMinus2EndPlus2.getId());
 
         bookings = bookingService.getUserBookings(booker.getId(), BookingState.PAST, null, null);
 
         assertThat(bookings.size()).isEqualTo(2);
-        assertThat(bookings.get(0)).isEqualTo(bookingStartMinus7EndMinus5);
-        assertThat(bookings.get(1)).isEqualTo(bookingStartMinus8EndMinus7);
+        assertThat(bookings.get(0).getId()).isEqualTo(bookingStartMinus7EndMinus5.getId());
+        assertThat(bookings.get(1).getId()).isEqualTo(bookingStartMinus8EndMinus7.getId());
 
         bookings = bookingService.getUserBookings(booker.getId(), BookingState.FUTURE, null, null);
 
         assertThat(bookings.size()).isEqualTo(1);
-        assertThat(bookings.get(0)).isEqualTo(bookingStartPlus1EndPlus2);
+        assertThat(bookings.get(0).getId()).isEqualTo(bookingStartPlus1EndPlus2.getId());
 
         bookingStartMinus1EndPlus1 = bookingService.approveBooking(bookingStartMinus1EndPlus1.getId(), owner.getId(), false);
         bookingStartPlus1EndPlus2 = bookingService.approveBooking(bookingStartPlus1EndPlus2.getId(), owner.getId(), false);
@@ -142,11 +153,11 @@ public class BookingServiceTest {
         bookings = bookingService.getUserBookings(booker.getId(), BookingState.WAITING, null, null);
 
         assertThat(bookings.size()).isEqualTo(3);
-        assertThat(bookings.get(0)).isEqualTo(bookingStartMinus2EndPlus2);
+        assertThat(bookings.get(0).getId()).isEqualTo(bookingStartMinus2EndPlus2.getId());
         assertThat(bookings.get(0).getStatus()).isEqualTo(BookingStatus.WAITING);
-        assertThat(bookings.get(1)).isEqualTo(bookingStartMinus7EndMinus5);
+        assertThat(bookings.get(1).getId()).isEqualTo(bookingStartMinus7EndMinus5.getId());
         assertThat(bookings.get(1).getStatus()).isEqualTo(BookingStatus.WAITING);
-        assertThat(bookings.get(2)).isEqualTo(bookingStartMinus8EndMinus7);
+        assertThat(bookings.get(2).getId()).isEqualTo(bookingStartMinus8EndMinus7.getId());
         assertThat(bookings.get(2).getStatus()).isEqualTo(BookingStatus.WAITING);
 
         bookingService.approveBooking(bookingStartMinus7EndMinus5.getId(), owner.getId(), true);
@@ -154,9 +165,33 @@ public class BookingServiceTest {
         bookings = bookingService.getUserBookings(booker.getId(), BookingState.REJECTED, null, null);
 
         assertThat(bookings.size()).isEqualTo(2);
-        assertThat(bookings.get(0)).isEqualTo(bookingStartPlus1EndPlus2);
+        assertThat(bookings.get(0).getId()).isEqualTo(bookingStartPlus1EndPlus2.getId());
         assertThat(bookings.get(0).getStatus()).isEqualTo(BookingStatus.REJECTED);
-        assertThat(bookings.get(1)).isEqualTo(bookingStartMinus1EndPlus1);
+        assertThat(bookings.get(1).getId()).isEqualTo(bookingStartMinus1EndPlus1.getId());
         assertThat(bookings.get(1).getStatus()).isEqualTo(BookingStatus.REJECTED);
     }
+
+    @Test
+    public void testAddBooking_Overlapping() {
+        User owner = userService.addUser(this.owner);
+        User booker = userService.addUser(this.booker);
+        itemService.addItem(this.item, owner.getId());
+
+        Booking bookingStartMinus1EndPlus1 = bookingService.addBooking(
+                this.bookingStartMinus1EndPlus1, booker.getId());
+        bookingService.addBooking(this.bookingStartPlus1EndPlus2, booker.getId());
+
+        Booking overlapping = Booking.builder()
+                .item(item)
+                .start(LocalDateTime.now().plusHours(1))
+                .end(LocalDateTime.now().plusDays(3))
+                .build();
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.addBooking(overlapping, booker.getId()));
+
+        bookingService.approveBooking(bookingStartMinus1EndPlus1.getId(), owner.getId(), false);
+        overlapping.setEnd(LocalDateTime.now().plusHours(2));
+
+        assertThat(bookingService.addBooking(overlapping, booker.getId()).getId()).isNotNull();
+    }
 }
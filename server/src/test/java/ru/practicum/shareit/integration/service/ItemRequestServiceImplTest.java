@@ -8,6 +8,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
@@ -80,28 +81,28 @@ public class ItemRequestServiceImplTest {
         ItemRequest request1ByUser2 = requestService.addRequest(this.request1byUser2, user2.getId());
         ItemRequest request2ByUser2 = requestService.addRequest(this.request2byUser2, user2.getId());
 
-        List<ItemRequest> requestsByUser2 = requestService.getAllRequests(null, null, user1.getId());
+        List<ItemRequestDto> requestsByUser2 = requestService.getAllRequests(null, null, user1.getId());
 
         assertThat(requestsByUser2.size()).isEqualTo(2);
-        assertThat(requestsByUser2.get(0)).isEqualTo(request1ByUser2);
-        assertThat(requestsByUser2.get(1)).isEqualTo(request2ByUser2);
+        assertThat(requestsByUser2.get(0).getId()).isEqualTo(request1ByUser2.getId());
+        assertThat(requestsByUser2.get(1).getId()).isEqualTo(request2ByUser2.getId());
 
-        List<ItemRequest> requestsByUser1 = requestService.getAllRequests(null, null, user2.getId());
+        List<ItemRequestDto> requestsByUser1 = requestService.getAllRequests(null, null, user2.getId());
 
         assertThat(requestsByUser1.size()).isEqualTo(3);
-        assertThat(requestsByUser1.get(0)).isEqualTo(request1ByUser1);
-        assertThat(requestsByUser1.get(1)).isEqualTo(request2ByUser1);
-        assertThat(requestsByUser1.get(2)).isEqualTo(request3ByUser1);
+        assertThat(requestsByUser1.get(0).getId()).isEqualTo(request1ByUser1.getId());
+        assertThat(requestsByUser1.get(1).getId()).isEqualTo(request2ByUser1.getId());
+        assertThat(requestsByUser1.get(2).getId()).isEqualTo(request3ByUser1.getId());
 
         requestsByUser2 = requestService.getAllRequests(0, 1, user1.getId());
 
         assertThat(requestsByUser2.size()).isEqualTo(1);
-        assertThat(requestsByUser2.get(0)).isEqualTo(request1ByUser2);
+        assertThat(requestsByUser2.get(0).getId()).isEqualTo(request1ByUser2.getId());
 
         requestsByUser1 = requestService.getAllRequests(0, 2, user2.getId());
 
         assertThat(requestsByUser1.size()).isEqualTo(2);
-        assertThat(requestsByUser1.get(0)).isEqualTo(request1ByUser1);
-        assertThat(requestsByUser1.get(1)).isEqualTo(request2ByUser1);
+        assertThat(requestsByUser1.get(0).getId()).isEqualTo(request1ByUser1.getId());
+        assertThat(requestsByUser1.get(1).getId()).isEqualTo(request2ByUser1.getId());
     }
 }
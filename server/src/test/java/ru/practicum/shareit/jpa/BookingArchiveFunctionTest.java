@@ -0,0 +1,173 @@
+package ru.practicum.shareit.jpa;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = "shareit.test.postgres.url", matches = "jdbc:postgresql:.+")
+public class BookingArchiveFunctionTest {
+    private static final String URL = System.getProperty("shareit.test.postgres.url");
+    private static final String USER = System.getProperty("shareit.test.postgres.user", "postgres");
+    private static final String PASSWORD = System.getProperty("shareit.test.postgres.password", "");
+    private static final LocalDateTime TODAY = LocalDate.now().atStartOfDay();
+
+    private static Flyway flyway;
+    private static Connection connection;
+
+    @BeforeAll
+    public static void setUp() throws SQLException {
+        flyway = Flyway.configure()
+                .dataSource(URL, USER, PASSWORD)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .cleanDisabled(false)
+                .load();
+        connection = DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        connection.close();
+        flyway.clean();
+    }
+
+    @BeforeEach
+    public void migrate() throws SQLException {
+        flyway.clean();
+        flyway.migrate();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("insert into users (id, name, email) values (1, 'user', 'user@mail.ru')");
+            statement.execute("insert into items (id, name, description, is_available, owner_id) " +
+                    "values (1, 'item', 'description', true, 1)");
+        }
+        insertBookingsEndingDaysAgo(60, 20, 15, 5, -10);
+    }
+
+    @Test
+    public void testArchiveBookings_MovesEndedBookingsToArchive() throws SQLException {
+        assertThat(countByPartition()).containsEntry("bookings_archive_initial", 1L)
+                .containsEntry("bookings_hot", 4L);
+
+        assertThat(archive(TODAY.minusDays(10))).isEqualTo(2L);
+
+        assertThat(countByPartition()).containsEntry("bookings_archive_initial", 1L)
+                .containsEntry(chunk(TODAY.minusDays(10)), 2L)
+                .containsEntry("bookings_hot", 2L);
+        assertThat(archiveBound()).isEqualTo(TODAY.minusDays(10));
+        assertThat(count("select count(*) from bookings")).isEqualTo(5L);
+    }
+
+    @Test
+    public void testArchiveBookings_AttachSkipsValidationScans() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set client_min_messages = debug1");
+        }
+
+        List<String> messages = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("select archive_bookings(?)")) {
+            statement.setTimestamp(1, Timestamp.valueOf(TODAY.minusDays(10)));
+            statement.execute();
+            for (SQLWarning warning = statement.getWarnings(); warning != null; warning = warning.getNextWarning()) {
+                messages.add(warning.getMessage());
+            }
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("reset client_min_messages");
+            }
+        }
+
+        assertThat(messages).filteredOn(message -> message.contains("is implied by existing constraints"))
+                .anySatisfy(message -> assertThat(message).contains("\"bookings_hot\""))
+                .anySatisfy(message -> assertThat(message).contains("\"bookings_archive_initial\""))
+                .anySatisfy(message -> assertThat(message).contains("\"" + chunk(TODAY.minusDays(10)) + "\""));
+    }
+
+    @Test
+    public void testArchiveBookings_RepeatedRuns() throws SQLException {
+        assertThat(archive(TODAY.minusDays(30))).isEqualTo(0L);
+        assertThat(archive(TODAY.minusDays(15))).isEqualTo(1L);
+        assertThat(archive(TODAY.minusDays(15))).isEqualTo(0L);
+        assertThat(archive(TODAY.minusDays(1))).isEqualTo(2L);
+
+        assertThat(archiveBound()).isEqualTo(TODAY.minusDays(1));
+        assertThat(count("select count(*) from bookings_hot")).isEqualTo(1L);
+        assertThat(count("select count(*) from pg_constraint " +
+                "where conrelid = 'bookings_hot'::regclass and contype = 'c'")).isEqualTo(1L);
+    }
+
+    private static void insertBookingsEndingDaysAgo(long... daysAgo) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                        "values (?, ?, 1, 1, 'APPROVED')")) {
+            for (long days : daysAgo) {
+                LocalDateTime end = LocalDateTime.now().minusDays(days);
+                statement.setTimestamp(1, Timestamp.valueOf(end.minusHours(1)));
+                statement.setTimestamp(2, Timestamp.valueOf(end));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static String chunk(LocalDateTime endedBefore) {
+        return "bookings_archive_" + endedBefore.format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+    }
+
+    private static long archive(LocalDateTime endedBefore) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select archive_bookings(?)")) {
+            statement.setTimestamp(1, Timestamp.valueOf(endedBefore));
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+
+    private static LocalDateTime archiveBound() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("select bookings_archive_bound()")) {
+            result.next();
+            return result.getTimestamp(1).toLocalDateTime();
+        }
+    }
+
+    private static Map<String, Long> countByPartition() throws SQLException {
+        Map<String, Long> counts = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(
+                     "select tableoid::regclass::text, count(*) from bookings group by 1")) {
+            while (result.next()) {
+                counts.put(result.getString(1), result.getLong(2));
+            }
+        }
+        return counts;
+    }
+
+    private static long count(String query) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(query)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.jpa;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "shareit.test.postgres.url", matches = "jdbc:postgresql:.+")
+public class BookingArchiveRepositoryTest {
+    private static final LocalDateTime TODAY = LocalDate.now().atStartOfDay();
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private Flyway flyway;
+
+    private Booking endedLongAgo;
+    private Booking endedRecently;
+    private Booking upcoming;
+
+    @DynamicPropertySource
+    public static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.url", () -> System.getProperty("shareit.test.postgres.url"));
+        registry.add("spring.datasource.username",
+                () -> System.getProperty("shareit.test.postgres.user", "postgres"));
+        registry.add("spring.datasource.password",
+                () -> System.getProperty("shareit.test.postgres.password", ""));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        flyway.migrate();
+
+        User owner = entityManager.persist(User.builder()
+                .name("user")
+                .email("email@email.ru")
+                .build());
+        Item item = entityManager.persist(Item.builder()
+                .available(true)
+                .description("description")
+                .owner(owner)
+                .name("item")
+                .build());
+
+        endedLongAgo = entityManager.persist(booking(item, owner, TODAY.minusDays(20)));
+        endedRecently = entityManager.persist(booking(item, owner, TODAY.minusDays(5)));
+        upcoming = entityManager.persist(booking(item, owner, TODAY.plusDays(5)));
+        entityManager.flush();
+    }
+
+    @Test
+    public void testArchiveEndedBefore() {
+        assertThat(bookingRepository.archiveEndedBefore(TODAY.minusDays(10))).isEqualTo(1L);
+
+        entityManager.clear();
+        assertThat(partitionOf(endedLongAgo)).startsWith("bookings_archive_");
+        assertThat(partitionOf(endedRecently)).isEqualTo("bookings_hot");
+        assertThat(partitionOf(upcoming)).isEqualTo("bookings_hot");
+        assertThat(bookingRepository.findById(endedLongAgo.getId()))
+                .hasValueSatisfying(booking -> assertThat(booking.getEnd()).isEqualTo(TODAY.minusDays(20)));
+    }
+
+    @Test
+    public void testArchiveEndedBefore_NothingBeforeCurrentBound() {
+        assertThat(bookingRepository.archiveEndedBefore(TODAY.minusDays(40))).isEqualTo(0L);
+
+        assertThat(partitionOf(endedLongAgo)).isEqualTo("bookings_hot");
+    }
+
+    private String partitionOf(Booking booking) {
+        return (String) entityManager.getEntityManager()
+                .createNativeQuery("select cast(cast(tableoid as regclass) as text) from bookings where id = :id")
+                .setParameter("id", booking.getId())
+                .getSingleResult();
+    }
+
+    private static Booking booking(Item item, User booker, LocalDateTime end) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .start(end.minusDays(1))
+                .end(end)
+                .build();
+    }
+}
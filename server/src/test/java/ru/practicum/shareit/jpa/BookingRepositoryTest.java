@@ -5,15 +5,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSearch;
+import ru.practicum.shareit.common.utils.OffsetPageRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -79,203 +85,199 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    public void testFindByBookerOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.persist(booking3);
+    public void testSearch_BookerAll() {
+        persistAll();
 
-        Pageable pageable = Pageable.unpaged();
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.ALL)
+                        .build());
 
-        List<Booking> bookings = bookingRepository.findByBookerOrderByStartDesc(booker, pageable);
-
-        assertThat(bookings).hasSize(3);
-        assertThat(bookings.get(0)).isEqualTo(booking3);
-        assertThat(bookings.get(1)).isEqualTo(booking2);
-        assertThat(bookings.get(2)).isEqualTo(booking1);
+        assertThat(bookings).extracting(BookingDto::getId)
+                .containsExactly(booking3.getId(), booking2.getId(), booking1.getId());
     }
 
     @Test
-    public void testFindByBookerAndStartBeforeAndEndAfterOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.persist(booking3);
-
-        Pageable pageable = Pageable.unpaged();
+    public void testSearch_BookerAll_OffsetPage() {
+        persistAll();
 
-        List<Booking> bookings = bookingRepository.findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(
-                booker, LocalDateTime.now().minusDays(1), LocalDateTime.now(), pageable
-        );
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.ALL)
+                        .pageable(OffsetPageRequest.of(1, 2))
+                        .build());
 
-        assertThat(bookings).hasSize(1);
-        assertThat(bookings.get(0)).isEqualTo(booking2);
+        assertThat(bookings).extracting(BookingDto::getId)
+                .containsExactly(booking2.getId(), booking1.getId());
     }
 
     @Test
-    public void testFindByBookerAndEndBeforeOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.persist(booking3);
+    public void testSearch_BookerCurrent() {
+        persistAll();
 
-        Pageable pageable = Pageable.unpaged();
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.CURRENT).build());
 
-        List<Booking> bookings = bookingRepository.findByBookerAndEndBeforeOrderByStartDesc(
-                booker, LocalDateTime.now().plusDays(2), pageable
-        );
-
-        assertThat(bookings).hasSize(2);
-        assertThat(bookings.get(0)).isEqualTo(booking2);
-        assertThat(bookings.get(1)).isEqualTo(booking1);
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking2.getId());
     }
 
     @Test
-    public void testFindByBookerAndStartAfterOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.persist(booking3);
-
-        Pageable pageable = Pageable.unpaged();
+    public void testSearch_BookerPast() {
+        persistAll();
 
-        List<Booking> bookings = bookingRepository.findByBookerAndStartAfterOrderByStartDesc(
-                booker, LocalDateTime.now().minusDays(5), pageable
-        );
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.PAST).build());
 
-        assertThat(bookings).hasSize(2);
-        assertThat(bookings.get(0)).isEqualTo(booking3);
-        assertThat(bookings.get(1)).isEqualTo(booking2);
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking1.getId());
     }
 
     @Test
-    public void testFindByBookerAndStatusOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
+    public void testSearch_BookerFuture() {
+        persistAll();
 
-        booking1.setStatus(BookingStatus.APPROVED);
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.FUTURE).build());
 
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.persist(booking3);
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking3.getId());
+    }
 
-        Pageable pageable = Pageable.unpaged();
+    @Test
+    public void testSearch_BookerWaiting() {
+        booking1.setStatus(BookingStatus.APPROVED);
+        persistAll();
 
-        List<Booking> bookings = bookingRepository.findByBookerAndStatusOrderByStartDesc(
-                booker, BookingStatus.WAITING, pageable
-        );
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.WAITING).build());
 
-        assertThat(bookings).hasSize(2);
-        assertThat(bookings.get(0)).isEqualTo(booking3);
-        assertThat(bookings.get(1)).isEqualTo(booking2);
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking3.getId(), booking2.getId());
     }
 
     @Test
-    public void testFindByItemOwnerOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
-        entityManager.persist(booking1);
-
-        Pageable pageable = Pageable.unpaged();
+    public void testSearch_BookerRejected() {
+        booking2.setStatus(BookingStatus.REJECTED);
+        persistAll();
 
-        List<Booking> bookings = bookingRepository.findByItemOwnerOrderByStartDesc(owner, pageable);
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.REJECTED).build());
 
-        assertThat(bookings).hasSize(1);
-        assertThat(bookings.get(0)).isEqualTo(booking1);
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking2.getId());
     }
 
     @Test
-    public void testFindCurrentByItemOwnerOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.persist(booking3);
+    public void testSearch_OwnerAll() {
+        persistAll();
 
-        Pageable pageable = Pageable.unpaged();
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.OWNER, owner, BookingState.ALL).build());
 
-        List<Booking> bookings = bookingRepository.findCurrentByItemOwnerOrderByStartDesc(
-                owner, LocalDateTime.now(), pageable
-        );
-
-        assertThat(bookings).hasSize(1);
-        assertThat(bookings.get(0)).isEqualTo(booking2);
+        assertThat(bookings).extracting(BookingDto::getId)
+                .containsExactly(booking3.getId(), booking2.getId(), booking1.getId());
+        assertThat(bookingRepository.search(search(BookingSearch.Role.OWNER, booker, BookingState.ALL).build()))
+                .isEmpty();
     }
 
     @Test
-    public void testFindPastByItemOwnerOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.persist(booking3);
-
-        Pageable pageable = Pageable.unpaged();
+    public void testSearch_OwnerCurrent() {
+        persistAll();
 
-        List<Booking> bookings = bookingRepository.findPastByItemOwnerOrderByStartDesc(
-                owner, LocalDateTime.now(), pageable
-        );
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.OWNER, owner, BookingState.CURRENT).build());
 
-        assertThat(bookings).hasSize(1);
-        assertThat(bookings.get(0)).isEqualTo(booking1);
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking2.getId());
     }
 
     @Test
-    public void testFindFutureByItemOwnerOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.persist(booking3);
-
-        Pageable pageable = Pageable.unpaged();
+    public void testSearch_OwnerPast() {
+        persistAll();
 
-        List<Booking> bookings = bookingRepository.findFutureByItemOwnerOrderByStartDesc(
-                owner, LocalDateTime.now(), pageable
-        );
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.OWNER, owner, BookingState.PAST).build());
 
-        assertThat(bookings).hasSize(1);
-        assertThat(bookings.get(0)).isEqualTo(booking3);
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking1.getId());
     }
 
     @Test
-    public void findByItemOwnerAndStatusOrderByStartDesc() {
-        entityManager.persist(owner);
-        entityManager.persist(booker);
-        entityManager.persist(item);
+    public void testSearch_OwnerFuture() {
+        persistAll();
+
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.OWNER, owner, BookingState.FUTURE).build());
+
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking3.getId());
+    }
 
+    @Test
+    public void testSearch_OwnerWaiting() {
         booking1.setStatus(BookingStatus.APPROVED);
+        persistAll();
 
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.persist(booking3);
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.OWNER, owner, BookingState.WAITING).build());
 
-        Pageable pageable = Pageable.unpaged();
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking3.getId(), booking2.getId());
+    }
 
-        List<Booking> bookings = bookingRepository.findByItemOwnerAndStatusOrderByStartDesc(
-                owner, BookingStatus.WAITING, pageable
-        );
+    @Test
+    public void testSearch_BookerBeforeCursor() {
+        truncateBookingDates();
+        persistAll();
+
+        List<BookingDto> firstPage = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.ALL)
+                        .cursor(BookingCursor.first())
+                        .pageable(PageRequest.of(0, 2))
+                        .build());
+
+        assertThat(firstPage).extracting(BookingDto::getId).containsExactly(booking3.getId(), booking2.getId());
+
+        BookingDto last = firstPage.get(1);
+        List<BookingDto> secondPage = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.ALL)
+                        .cursor(new BookingCursor(last.getStart(), last.getId()))
+                        .pageable(PageRequest.of(0, 2))
+                        .build());
+
+        assertThat(secondPage).extracting(BookingDto::getId).containsExactly(booking1.getId());
+    }
+
+    @Test
+    public void testSearch_OwnerBeforeCursor_SameStart() {
+        booking2.setStart(booking3.getStart());
+        truncateBookingDates();
+        persistAll();
+
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.OWNER, owner, BookingState.ALL)
+                        .cursor(BookingCursor.after(booking3))
+                        .pageable(PageRequest.of(0, 2))
+                        .build());
+
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(booking2.getId(), booking1.getId());
+    }
 
-        assertThat(bookings).hasSize(2);
-        assertThat(bookings.get(0)).isEqualTo(booking3);
-        assertThat(bookings.get(1)).isEqualTo(booking2);
+    @Test
+    public void testSearch_ProjectsBookingDto() {
+        truncateBookingDates();
+        persistAll();
+
+        List<BookingDto> bookings = bookingRepository.search(
+                search(BookingSearch.Role.BOOKER, booker, BookingState.PAST).build());
+
+        assertThat(bookings).hasSize(1);
+        BookingDto dto = bookings.get(0);
+        assertThat(dto.getStart()).isEqualTo(booking1.getStart());
+        assertThat(dto.getEnd()).isEqualTo(booking1.getEnd());
+        assertThat(dto.getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThat(dto.getBooker().getId()).isEqualTo(booker.getId());
+        assertThat(dto.getBooker().getName()).isEqualTo(booker.getName());
+        assertThat(dto.getBooker().getEmail()).isEqualTo(booker.getEmail());
+        assertThat(dto.getItem().getId()).isEqualTo(item.getId());
+        assertThat(dto.getItem().getName()).isEqualTo(item.getName());
+        assertThat(dto.getItem().getDescription()).isEqualTo(item.getDescription());
+        assertThat(dto.getItem().getAvailable()).isTrue();
+        assertThat(dto.getItem().getRequestId()).isNull();
     }
 
     @Test
-    public void testFindByItemInAndStatusOrderByItem() {
+    public void testFindLastAndNextApprovedByItemIdIn() {
         entityManager.persist(owner);
         entityManager.persist(booker);
         entityManager.persist(item);
@@ -284,45 +286,64 @@ public class BookingRepositoryTest {
                 .description("description")
                 .name("name")
                 .available(true)
+                .owner(owner)
                 .build();
 
         entityManager.persist(item2);
 
+        Booking booking4 = Booking.builder()
+                .item(item)
+                .status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().plusDays(5))
+                .end(LocalDateTime.now().plusDays(6))
+                .booker(booker)
+                .build();
+        Booking booking5 = Booking.builder()
+                .item(item2)
+                .status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .booker(booker)
+                .build();
+
         booking1.setStatus(BookingStatus.APPROVED);
-        booking2.setItem(item2);
+        booking2.setStatus(BookingStatus.APPROVED);
+        booking3.setStatus(BookingStatus.APPROVED);
 
         entityManager.persist(booking1);
         entityManager.persist(booking2);
         entityManager.persist(booking3);
+        entityManager.persist(booking4);
+        entityManager.persist(booking5);
 
-        List<Booking> bookings = bookingRepository.findByItemInAndStatusOrderByItem(
-                List.of(item, item2), BookingStatus.WAITING
+        List<Booking> bookings = bookingRepository.findLastAndNextApprovedByItemIdIn(
+                List.of(item.getId(), item2.getId()), LocalDateTime.now()
         );
 
-        assertThat(bookings).hasSize(2);
-        assertThat(bookings.get(0)).isEqualTo(booking3);
-        assertThat(bookings.get(1)).isEqualTo(booking2);
+        assertThat(bookings).hasSize(3);
+        assertThat(bookings).extracting(Booking::getId)
+                .containsExactlyInAnyOrder(booking2.getId(), booking3.getId(), booking5.getId());
     }
 
     @Test
-    public void testFindByItemAndStatus() {
+    public void testFindLastAndNextApprovedByItemIdIn_IgnoresNotApproved() {
         entityManager.persist(owner);
         entityManager.persist(booker);
         entityManager.persist(item);
 
         booking1.setStatus(BookingStatus.APPROVED);
+        booking3.setStatus(BookingStatus.REJECTED);
 
         entityManager.persist(booking1);
         entityManager.persist(booking2);
         entityManager.persist(booking3);
 
-        List<Booking> bookings = bookingRepository.findByItemAndStatus(
-                item, BookingStatus.WAITING
+        List<Booking> bookings = bookingRepository.findLastAndNextApprovedByItemIdIn(
+                List.of(item.getId()), LocalDateTime.now()
         );
 
-        assertThat(bookings).hasSize(2);
-        assertThat(bookings.get(0)).isEqualTo(booking2);
-        assertThat(bookings.get(1)).isEqualTo(booking3);
+        assertThat(bookings).hasSize(1);
+        assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
     }
 
     @Test
@@ -349,4 +370,28 @@ public class BookingRepositoryTest {
 
         assertThat(exists).isEqualTo(true);
     }
+
+    private void persistAll() {
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+    }
+
+    private BookingSearch.BookingSearchBuilder search(BookingSearch.Role role, User user, BookingState state) {
+        return BookingSearch.builder()
+                .role(role)
+                .userId(user.getId())
+                .state(state)
+                .now(LocalDateTime.now());
+    }
+
+    private void truncateBookingDates() {
+        for (Booking booking : List.of(booking1, booking2, booking3)) {
+            booking.setStart(booking.getStart().truncatedTo(ChronoUnit.SECONDS));
+            booking.setEnd(booking.getEnd().truncatedTo(ChronoUnit.SECONDS));
+        }
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
@@ -82,7 +83,7 @@ public class CommentRepositoryTest {
     }
 
     @Test
-    public void testFindByItemIn() {
+    public void testFindViewsByItemIdIn() {
         entityManager.persist(owner);
         entityManager.persist(commentator);
         entityManager.persist(item1);
@@ -91,9 +92,13 @@ public class CommentRepositoryTest {
         entityManager.persist(comment2ForItem1);
         entityManager.persist(comment1ForItem2);
 
-        List<Comment> comments = commentRepository.findByItemIn(List.of(item1, item2));
+        List<CommentView> comments = commentRepository.findViewsByItemIdIn(List.of(item1.getId(), item2.getId()));
 
         assertThat(comments).hasSize(3);
+        assertThat(comments.get(0).getId()).isEqualTo(comment1ForItem1.getId());
+        assertThat(comments.get(0).getItemId()).isEqualTo(item1.getId());
+        assertThat(comments.get(0).getAuthorName()).isEqualTo(commentator.getName());
+        assertThat(comments.get(2).getItemId()).isEqualTo(item2.getId());
     }
 
     @Test
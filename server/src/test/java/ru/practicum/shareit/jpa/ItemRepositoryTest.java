@@ -6,10 +6,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -63,7 +66,7 @@ public class ItemRepositoryTest {
     }
 
     @Test
-    public void testFindByOwnerOrderById() {
+    public void testFindDtosByOwnerId() {
         entityManager.persist(user1);
         entityManager.persist(user2);
         entityManager.persist(item1ByUser1);
@@ -72,32 +75,64 @@ public class ItemRepositoryTest {
 
         Pageable pageable = Pageable.unpaged();
 
-        List<Item> requests = itemRepository.findByOwnerOrderById(user1, pageable);
+        List<ItemDto> requests = itemRepository.findDtosByOwnerId(user1.getId(), pageable);
 
         assertThat(requests.size()).isEqualTo(2);
-        assertThat(requests.get(0)).isEqualTo(item1ByUser1);
-        assertThat(requests.get(1)).isEqualTo(item2ByUser1);
+        assertThat(requests.get(0).getId()).isEqualTo(item1ByUser1.getId());
+        assertThat(requests.get(0).getName()).isEqualTo(item1ByUser1.getName());
+        assertThat(requests.get(0).getRequestId()).isNull();
+        assertThat(requests.get(1).getId()).isEqualTo(item2ByUser1.getId());
 
-        requests = itemRepository.findByOwnerOrderById(user2, pageable);
+        requests = itemRepository.findDtosByOwnerId(user2.getId(), pageable);
 
         assertThat(requests.size()).isEqualTo(1);
-        assertThat(requests.get(0)).isEqualTo(item1ByUser2);
+        assertThat(requests.get(0).getId()).isEqualTo(item1ByUser2.getId());
     }
 
     @Test
-    public void testSearchByNameOrDescription() {
+    public void testFindAvailableDtosByIdIn() {
+        item2ByUser1.setAvailable(false);
         entityManager.persist(user1);
         entityManager.persist(user2);
         entityManager.persist(item1ByUser1);
         entityManager.persist(item2ByUser1);
         entityManager.persist(item1ByUser2);
 
-        Pageable pageable = Pageable.unpaged();
+        List<ItemDto> items = itemRepository.findAvailableDtosByIdIn(
+                List.of(item1ByUser1.getId(), item2ByUser1.getId()));
 
-        List<Item> requests = itemRepository.searchByNameOrDescription("aaaaa", pageable);
-        assertThat(requests.size()).isEqualTo(0);
+        assertThat(items.size()).isEqualTo(1);
+        assertThat(items.get(0).getId()).isEqualTo(item1ByUser1.getId());
+    }
 
-        requests = itemRepository.searchByNameOrDescription("CoOL", pageable);
-        assertThat(requests.size()).isEqualTo(2);
+    @Test
+    public void testFindDtosByRequestIdIn() {
+        ItemRequest request = ItemRequest.builder()
+                .user(user2)
+                .description("description")
+                .created(LocalDateTime.now())
+                .build();
+        item1ByUser1.setRequest(request);
+        entityManager.persist(user1);
+        entityManager.persist(user2);
+        entityManager.persist(request);
+        entityManager.persist(item1ByUser1);
+        entityManager.persist(item2ByUser1);
+        entityManager.persist(item1ByUser2);
+
+        List<ItemDto> items = itemRepository.findDtosByRequestIdIn(List.of(request.getId()));
+
+        assertThat(items.size()).isEqualTo(1);
+        assertThat(items.get(0).getId()).isEqualTo(item1ByUser1.getId());
+        assertThat(items.get(0).getRequestId()).isEqualTo(request.getId());
+    }
+
+    @Test
+    public void testLockByIdIn() {
+        entityManager.persist(user1);
+        entityManager.persist(item1ByUser1);
+
+        assertThat(itemRepository.lockByIdIn(List.of(item1ByUser1.getId() + 100, item1ByUser1.getId())))
+                .isEqualTo(List.of(item1ByUser1.getId()));
     }
 }
@@ -6,6 +6,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.common.utils.OffsetPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -16,6 +20,7 @@ import java.util.List;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @DataJpaTest
+@ActiveProfiles("test")
 public class ItemRequestRepositoryTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
@@ -61,22 +66,25 @@ public class ItemRequestRepositoryTest {
     }
 
     @Test
-    public void testFindByUser() {
+    public void testFindViewsByUserId() {
         entityManager.persist(user1);
         entityManager.persist(user2);
         entityManager.persist(request1FromUser1);
         entityManager.persist(request2FromUser1);
         entityManager.persist(request1FromUser2);
 
-        List<ItemRequest> requests = itemRequestRepository.findByUser(user1);
+        List<ItemRequestView> requests = itemRequestRepository.findViewsByUserId(user1.getId());
         assertThat(requests.size()).isEqualTo(2);
+        assertThat(requests.get(0).getId()).isEqualTo(request1FromUser1.getId());
+        assertThat(requests.get(0).getDescription()).isEqualTo(request1FromUser1.getDescription());
+        assertThat(requests.get(1).getId()).isEqualTo(request2FromUser1.getId());
 
-        requests = itemRequestRepository.findByUser(user2);
+        requests = itemRequestRepository.findViewsByUserId(user2.getId());
         assertThat(requests.size()).isEqualTo(1);
     }
 
     @Test
-    public void testFindByUserNot() {
+    public void testFindViewsByUserIdNot() {
         entityManager.persist(user1);
         entityManager.persist(user2);
         entityManager.persist(request1FromUser1);
@@ -85,10 +93,38 @@ public class ItemRequestRepositoryTest {
 
         Pageable pageable = Pageable.unpaged();
 
-        List<ItemRequest> requests = itemRequestRepository.findByUserNot(user1, pageable);
+        List<ItemRequestView> requests = itemRequestRepository.findViewsByUserIdNot(user1.getId(), pageable);
         assertThat(requests.size()).isEqualTo(1);
+        assertThat(requests.get(0).getId()).isEqualTo(request1FromUser2.getId());
 
-        requests = itemRequestRepository.findByUserNot(user2, pageable);
+        requests = itemRequestRepository.findViewsByUserIdNot(user2.getId(), pageable);
         assertThat(requests.size()).isEqualTo(2);
+        assertThat(requests.get(0).getId()).isEqualTo(request1FromUser1.getId());
+        assertThat(requests.get(1).getId()).isEqualTo(request2FromUser1.getId());
+    }
+
+    @Test
+    public void testFindViewsByUserIdNot_PagedInDatabase() {
+        entityManager.persist(user1);
+        entityManager.persist(user2);
+        entityManager.persist(request1FromUser1);
+        entityManager.persist(request2FromUser1);
+        entityManager.persist(request1FromUser2);
+        for (ItemRequest request : List.of(request1FromUser1, request1FromUser1, request2FromUser1)) {
+            entityManager.persist(Item.builder()
+                    .owner(user2)
+                    .name("item")
+                    .description("item")
+                    .available(true)
+                    .request(request)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemRequestView> requests = itemRequestRepository.findViewsByUserIdNot(
+                user2.getId(), OffsetPageRequest.of(1, 1));
+        assertThat(requests.size()).isEqualTo(1);
+        assertThat(requests.get(0).getId()).isEqualTo(request2FromUser1.getId());
     }
 }
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.jpa;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MigrationIndexTest {
+    private static final String URL = "jdbc:h2:mem:migration-index-test;DB_CLOSE_DELAY=-1";
+
+    private static Connection connection;
+
+    @BeforeAll
+    public static void setUp() throws SQLException {
+        Flyway.configure()
+                .dataSource(URL, "test", "test")
+                .locations("classpath:db/migration/common")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(URL, "test", "test");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("insert into users (id, name, email) " +
+                    "select x, 'user', 'user' || x || '@mail.ru' from system_range(1, 20)");
+            statement.execute("insert into requests (id, description, requester_id, creation_date) " +
+                    "select x, 'description', mod(x, 20) + 1, timestamp '2023-01-01 00:00:00' " +
+                    "from system_range(1, 40)");
+            statement.execute("insert into items (id, name, description, is_available, owner_id, request_id) " +
+                    "select x, 'item', 'description', true, (x - 1) / 5 + 1, " +
+                    "case when mod(x, 3) = 0 then mod(x, 40) + 1 end from system_range(1, 100)");
+            statement.execute("insert into comments (id, text, item_id, author_id, creation_date) " +
+                    "select x, 'text', mod(x, 100) + 1, mod(x, 20) + 1, timestamp '2023-01-01 00:00:00' " +
+                    "from system_range(1, 400)");
+            statement.execute("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                    "select x, dateadd(hour, x, timestamp '2023-01-01 00:00:00'), " +
+                    "dateadd(hour, x + 2, timestamp '2023-01-01 00:00:00'), (x - 1) / 40 + 1, mod(x, 20) + 1, " +
+                    "case mod(x, 4) when 0 then 'WAITING' when 1 then 'APPROVED' when 2 then 'REJECTED' " +
+                    "else 'CANCELED' end from system_range(1, 4000)");
+            statement.execute("analyze");
+        }
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    private static Stream<Arguments> testQueryUsesCompositeIndexArguments() {
+        return Stream.of(
+                Arguments.of("select * from bookings b where b.booker_id = 1 and b.status = 'WAITING' " +
+                        "order by b.start_date desc, b.id desc", "BOOKINGS_BOOKER_STATUS_START_ID_IDX"),
+                Arguments.of("select * from bookings b where b.booker_id = 1 and b.status = 'WAITING' " +
+                                "and (b.start_date < timestamp '2023-03-01 00:00:00' " +
+                                "or (b.start_date = timestamp '2023-03-01 00:00:00' and b.id < 100)) " +
+                                "order by b.start_date desc, b.id desc limit 10",
+                        "BOOKINGS_BOOKER_STATUS_START_ID_IDX"),
+                Arguments.of("select * from bookings b where b.item_id in (1, 2) and b.status = 'APPROVED'",
+                        "BOOKINGS_ITEM_STATUS_START_IDX"),
+                Arguments.of("select * from bookings b where b.item_id = 1 and b.status = 'APPROVED' " +
+                        "order by b.start_date", "BOOKINGS_ITEM_STATUS_START_IDX")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testQueryUsesCompositeIndexArguments")
+    public void testQueryUsesCompositeIndex(String query, String index) throws SQLException {
+        assertThat(explain(query)).contains("/* PUBLIC." + index + ":");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "select * from bookings b where b.booker_id = 1 order by b.start_date desc, b.id desc",
+            "select b.* from bookings b join items i on b.item_id = i.id where i.owner_id = 1 " +
+                    "order by b.start_date desc",
+            "select * from items i where i.owner_id = 1 order by i.id",
+            "select * from items i where i.request_id in (1, 2)",
+            "select * from comments c where c.item_id in (1, 2)",
+            "select * from requests r where r.requester_id = 1 order by r.id"
+    })
+    public void testQueryAvoidsTableScan(String query) throws SQLException {
+        assertThat(explain(query)).doesNotContain("tableScan");
+    }
+
+    private static String explain(String query) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("explain " + query)) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+}
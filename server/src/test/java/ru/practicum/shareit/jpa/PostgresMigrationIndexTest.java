@@ -0,0 +1,99 @@
+package ru.practicum.shareit.jpa;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = "shareit.test.postgres.url", matches = "jdbc:postgresql:.+")
+public class PostgresMigrationIndexTest {
+    private static final String URL = System.getProperty("shareit.test.postgres.url");
+    private static final String USER = System.getProperty("shareit.test.postgres.user", "postgres");
+    private static final String PASSWORD = System.getProperty("shareit.test.postgres.password", "");
+
+    private static Flyway flyway;
+    private static Connection connection;
+
+    @BeforeAll
+    public static void setUp() throws SQLException {
+        flyway = Flyway.configure()
+                .dataSource(URL, USER, PASSWORD)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        connection = DriverManager.getConnection(URL, USER, PASSWORD);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("insert into users (id, name, email) " +
+                    "select x, 'user', 'user' || x || '@mail.ru' from generate_series(1, 1000) x");
+            statement.execute("insert into requests (id, description, requester_id, creation_date) " +
+                    "select x, 'description', x % 1000 + 1, localtimestamp - x * interval '1 minute' " +
+                    "from generate_series(1, 20000) x");
+            statement.execute("insert into items (id, name, description, is_available, owner_id, request_id) " +
+                    "select x, 'item', 'description', true, (x - 1) / 5 + 1, " +
+                    "case when x % 3 = 0 then x % 20000 + 1 end from generate_series(1, 5000) x");
+            statement.execute("insert into comments (id, text, item_id, author_id, creation_date) " +
+                    "select x, 'text', x % 5000 + 1, x % 1000 + 1, localtimestamp " +
+                    "from generate_series(1, 20000) x");
+            statement.execute("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                    "select x, localtimestamp - interval '60 days' + x * interval '1 minute', " +
+                    "localtimestamp - interval '60 days' + (x + 120) * interval '1 minute', " +
+                    "(x - 1) / 20 + 1, x % 1000 + 1, " +
+                    "(array ['WAITING', 'APPROVED', 'REJECTED', 'CANCELED'])[x % 4 + 1] " +
+                    "from generate_series(1, 100000) x");
+            statement.execute("analyze");
+        }
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        connection.close();
+        flyway.clean();
+    }
+
+    private static Stream<Arguments> testQueryUsesIndexArguments() {
+        return Stream.of(
+                Arguments.of("select * from bookings b where b.booker_id = 1 and b.status = 'WAITING' " +
+                        "order by b.start_date desc, b.id desc limit 10", "booker_id_status_start_date_id_idx"),
+                Arguments.of("select * from bookings b where b.item_id in (1, 2) and b.status = 'APPROVED'",
+                        "item_id_status_start_date_idx"),
+                Arguments.of("select * from bookings b where b.item_id = 1 and b.status = 'APPROVED' " +
+                        "order by b.start_date", "item_id_status_start_date_idx"),
+                Arguments.of("select * from items i where i.owner_id = 1 order by i.id", "items_owner_id_idx"),
+                Arguments.of("select * from items i where i.request_id in (1, 2)", "items_request_id_idx"),
+                Arguments.of("select * from comments c where c.item_id in (1, 2)", "comments_item_id_idx"),
+                Arguments.of("select * from requests r where r.requester_id = 1 order by r.id",
+                        "requests_requester_id_idx")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testQueryUsesIndexArguments")
+    public void testQueryUsesIndex(String query, String index) throws SQLException {
+        assertThat(explain(query)).contains(index).doesNotContain("Seq Scan");
+    }
+
+    private static String explain(String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("explain " + query)) {
+            while (result.next()) {
+                plan.append(result.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
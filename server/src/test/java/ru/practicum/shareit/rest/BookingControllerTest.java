@@ -17,6 +17,7 @@ import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.AlreadyApprovedException;
@@ -37,6 +38,7 @@ import java.util.Map;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.util.TestUtility.getStringFromDate;
@@ -319,9 +321,7 @@ public class BookingControllerTest {
                 Mockito.any(BookingState.class),
                 Mockito.nullable(Integer.class),
                 Mockito.nullable(Integer.class)
-        )).thenReturn(List.of(booking, booking));
-        when(bookingMapper.toDtoList(Mockito.anyList()))
-                .thenReturn(List.of(dto, dto));
+        )).thenReturn(List.of(dto, dto));
 
         mvc.perform(get("/bookings/")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -372,9 +372,7 @@ public class BookingControllerTest {
                 Mockito.any(BookingState.class),
                 Mockito.nullable(Integer.class),
                 Mockito.nullable(Integer.class)
-        )).thenReturn(List.of(booking, booking));
-        when(bookingMapper.toDtoList(Mockito.anyList()))
-                .thenReturn(List.of(dto, dto));
+        )).thenReturn(List.of(dto, dto));
 
         mvc.perform(get("/bookings/owner")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -392,6 +390,63 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].status", equalTo(BookingStatus.APPROVED.toString())));
     }
 
+    @Test
+    public void testGetUserBookingsWithCursor_FullPage() throws Exception {
+        when(bookingService.getUserBookingsAfter(
+                Mockito.anyLong(),
+                Mockito.any(BookingState.class),
+                Mockito.any(BookingCursor.class),
+                Mockito.anyInt()
+        )).thenReturn(List.of(dto, dto));
+
+        mvc.perform(get("/bookings")
+                        .param("cursor", "")
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-id", user.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        new BookingCursor(dto.getStart(), dto.getId()).encode()));
+
+        Mockito.verify(bookingService).getUserBookingsAfter(1L, BookingState.ALL, BookingCursor.first(), 2);
+    }
+
+    @Test
+    public void testGetUserItemsBookingsWithCursor_LastPage() throws Exception {
+        BookingCursor cursor = BookingCursor.after(booking);
+        when(bookingService.getUserItemsBookingsAfter(
+                Mockito.anyLong(),
+                Mockito.any(BookingState.class),
+                Mockito.any(BookingCursor.class),
+                Mockito.anyInt()
+        )).thenReturn(List.of(dto));
+
+        mvc.perform(get("/bookings/owner")
+                        .param("cursor", cursor.encode())
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-id", user.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+
+        Mockito.verify(bookingService).getUserItemsBookingsAfter(1L, BookingState.ALL, cursor, 2);
+    }
+
+    @Test
+    public void testGetUserBookingsWithCursor_Malformed() throws Exception {
+        mvc.perform(get("/bookings")
+                        .param("cursor", "not-a-cursor")
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-id", user.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     private Map<String, Object> getAsMap(UserDto booker) throws JsonProcessingException {
         return mapper.readValue(mapper.writeValueAsString(booker), new TypeReference<>() {
         });
@@ -19,12 +19,16 @@ import ru.practicum.shareit.exception.UserWithoutAccessRightsException;
 import ru.practicum.shareit.exception.model.ErrorResponse;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtraInfoDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
+import ru.practicum.shareit.item.search.ItemSearchSort;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 
@@ -35,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -362,13 +367,12 @@ public class ItemControllerTest {
     @Test
     public void testSearchItems_Success() throws Exception {
         when(itemService.searchItems(
-                Mockito.anyInt(),
+                Mockito.anyLong(),
                 Mockito.anyString(),
+                Mockito.any(ItemSearchSort.class),
                 Mockito.nullable(Integer.class),
                 Mockito.nullable(Integer.class)
-        )).thenReturn(List.of(item, item));
-        when(itemMapper.toDtoList(Mockito.anyList()))
-                .thenReturn(List.of(dto, dto));
+        )).thenReturn(List.of(dto, dto));
 
         mvc.perform(get("/items/search?text=%20")
                         .content(mapper.writeValueAsString(dto))
@@ -385,6 +389,91 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].requestId", is(dto.getRequestId())));
     }
 
+    @Test
+    public void testSearchItems_UnknownSort() throws Exception {
+        mvc.perform(get("/items/search?text=item&sort=price")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-id", user.getId().toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Unknown sort: price")));
+
+        Mockito.verifyNoInteractions(itemService);
+    }
+
+    @Test
+    public void testSearchItems_SortIsCaseInsensitive() throws Exception {
+        when(itemService.searchItems(
+                Mockito.anyLong(),
+                Mockito.anyString(),
+                Mockito.any(ItemSearchSort.class),
+                Mockito.nullable(Integer.class),
+                Mockito.nullable(Integer.class)
+        )).thenReturn(List.of(dto));
+
+        mvc.perform(get("/items/search?text=item&sort=relevance")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-id", user.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(itemService).searchItems(user.getId(), "item", ItemSearchSort.RELEVANCE, null, null);
+    }
+
+    @Test
+    public void testGetItemAvailability_Success() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        ItemAvailabilityDto availabilityDto = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .busy(List.of(TimeIntervalDto.builder().start(from.plusDays(2)).end(from.plusDays(3)).build()))
+                .free(List.of(
+                        TimeIntervalDto.builder().start(from).end(from.plusDays(2)).build(),
+                        TimeIntervalDto.builder().start(from.plusDays(3)).end(to).build()))
+                .build();
+
+        when(itemService.getItemAvailability(
+                Mockito.anyLong(),
+                Mockito.anyLong(),
+                Mockito.any(LocalDateTime.class),
+                Mockito.any(LocalDateTime.class)
+        )).thenReturn(ItemAvailability.builder().build());
+        when(itemMapper.toDto(Mockito.any(ItemAvailability.class)))
+                .thenReturn(availabilityDto);
+
+        mvc.perform(get("/items/1/availability?from=2030-01-01T00:00:00&to=2030-01-11T00:00:00")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-id", user.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1L), Long.class))
+                .andExpect(jsonPath("$.from", is("2030-01-01T00:00:00")))
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.busy[0].start", is("2030-01-03T00:00:00")))
+                .andExpect(jsonPath("$.free", hasSize(2)))
+                .andExpect(jsonPath("$.free[1].end", is("2030-01-11T00:00:00")));
+
+        Mockito.verify(itemService).getItemAvailability(1L, user.getId(), from, to);
+    }
+
+    @Test
+    public void testSuggestItemNames_Success() throws Exception {
+        when(itemService.suggestItemNames(Mockito.anyLong(), Mockito.anyString()))
+                .thenReturn(List.of("Drill", "Drill press"));
+
+        mvc.perform(get("/items/suggest?prefix=dr")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-id", user.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", is("Drill")))
+                .andExpect(jsonPath("$[1]", is("Drill press")));
+    }
+
     @Test
     public void testAddComment_WithoutUser() throws Exception {
         CommentDto dto = CommentDto.builder()
@@ -159,8 +159,6 @@ public class ItemRequestControllerTest {
     @Test
     public void testGetUserItemsRequests_Success() throws Exception {
         when(requestService.getUserRequests(Mockito.anyLong()))
-                .thenReturn(List.of(request, request));
-        when(requestMapper.toDtoList(Mockito.anyList()))
                 .thenReturn(List.of(dto, dto));
 
         mvc.perform(get("/requests")
@@ -205,9 +203,7 @@ public class ItemRequestControllerTest {
     public void testAllItemsRequests_Success() throws Exception {
         when(requestService.getAllRequests(
                 Mockito.nullable(Integer.class), Mockito.nullable(Integer.class), Mockito.anyLong()
-        )).thenReturn(List.of(request, request));
-        when(requestMapper.toDtoList(Mockito.anyList()))
-                .thenReturn(List.of(dto, dto));
+        )).thenReturn(List.of(dto, dto));
 
         mvc.perform(get("/requests/all")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -1,14 +1,19 @@
 package ru.practicum.shareit.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.config.EtagConfig;
+import ru.practicum.shareit.common.config.SmileConfig;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.model.ErrorResponse;
 import ru.practicum.shareit.user.controller.UserController;
@@ -20,14 +25,18 @@ import ru.practicum.shareit.user.service.UserService;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
+@Import({EtagConfig.class, SmileConfig.class})
 public class UserControllerTest {
     private static User user;
     private static UserDto dto;
@@ -154,6 +163,47 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.email", is(dto.getEmail())));
     }
 
+    @Test
+    public void testGetUser_NotModified() throws Exception {
+        when(userService.getUser(Mockito.anyLong()))
+                .thenReturn(user);
+        when(userMapper.toDto(Mockito.any(User.class)))
+                .thenReturn(dto);
+
+        String etag = mvc.perform(get("/users/" + user.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/users/" + user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    public void testGetUser_Smile() throws Exception {
+        MediaType smile = new MediaType("application", "x-jackson-smile");
+        when(userService.getUser(Mockito.anyLong()))
+                .thenReturn(user);
+        when(userMapper.toDto(Mockito.any(User.class)))
+                .thenReturn(dto);
+
+        byte[] body = mvc.perform(get("/users/" + user.getId())
+                        .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertThat(new SmileMapper().readTree(body).toString()).isEqualTo(mapper.writeValueAsString(dto));
+    }
+
     @Test
     public void testDeleteUser_UserDoesNotExists() throws Exception {
         when(userMapper.toEntity(Mockito.any(UserDto.class)))
@@ -0,0 +1,197 @@
+package ru.practicum.shareit.unit.interval;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.interval.BookingCalendar;
+import ru.practicum.shareit.booking.interval.TimeInterval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingCalendarTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingCalendar calendar;
+
+    @BeforeEach
+    public void setUp() {
+        calendar = new BookingCalendar(bookingRepository, 2, Duration.ofMinutes(10));
+    }
+
+    @Test
+    public void testGetBusyIntervals_MergesOverlappingAndAdjacentBookings() {
+        mockFindApproved()
+                .thenReturn(List.of(
+                        booking(1, 3),
+                        booking(2, 4),
+                        booking(4, 5),
+                        booking(7, 8),
+                        booking(7, 9)
+                ));
+
+        assertEquals(List.of(interval(1, 5), interval(7, 9)), calendar.getBusyIntervals(1L, day(0), day(10)));
+        verify(bookingRepository).findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.eq(1L), Mockito.eq(List.of(BookingStatus.APPROVED)), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testGetBusyIntervals_ClipsToPeriod() {
+        mockFindApproved()
+                .thenReturn(List.of(booking(1, 3), booking(5, 6), booking(8, 12)));
+
+        assertEquals(List.of(interval(2, 3), interval(5, 6), interval(8, 10)),
+                calendar.getBusyIntervals(1L, day(2), day(10)));
+        assertEquals(List.of(), calendar.getBusyIntervals(1L, day(3), day(5)));
+        assertEquals(List.of(), calendar.getBusyIntervals(1L, day(10), day(2)));
+    }
+
+    @Test
+    public void testGetFreeIntervals() {
+        List<TimeInterval> busy = List.of(interval(2, 3), interval(5, 6));
+
+        assertEquals(List.of(interval(0, 2), interval(3, 5), interval(6, 10)),
+                calendar.getFreeIntervals(busy, day(0), day(10)));
+        assertEquals(List.of(interval(3, 5)), calendar.getFreeIntervals(busy, day(2), day(6)));
+        assertEquals(List.of(interval(0, 10)), calendar.getFreeIntervals(List.of(), day(0), day(10)));
+    }
+
+    @Test
+    public void testGetBusyIntervals_CachedUntilInvalidated() {
+        mockFindApproved()
+                .thenReturn(List.of(booking(1, 3)))
+                .thenReturn(List.of(booking(1, 3), booking(5, 6)));
+
+        calendar.getBusyIntervals(1L, day(0), day(10));
+        assertEquals(List.of(interval(1, 3)), calendar.getBusyIntervals(1L, day(0), day(10)));
+
+        calendar.invalidate(1L);
+
+        assertEquals(List.of(interval(1, 3), interval(5, 6)), calendar.getBusyIntervals(1L, day(0), day(10)));
+        verify(bookingRepository, Mockito.times(2)).findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.eq(1L), Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testInvalidate_EvictsAfterCommit() {
+        mockFindApproved()
+                .thenReturn(List.of(booking(1, 3)))
+                .thenReturn(List.of(booking(1, 3), booking(5, 6)));
+
+        calendar.getBusyIntervals(1L, day(0), day(10));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            calendar.invalidate(1L);
+
+            assertEquals(List.of(interval(1, 3)), calendar.getBusyIntervals(1L, day(0), day(10)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(interval(1, 3), interval(5, 6)), calendar.getBusyIntervals(1L, day(0), day(10)));
+    }
+
+    @Test
+    public void testGetBusyIntervals_ExpiredAfterTtl() {
+        calendar = new BookingCalendar(bookingRepository, 2, Duration.ZERO);
+        mockFindApproved()
+                .thenReturn(List.of(booking(1, 3)))
+                .thenReturn(List.of(booking(1, 3), booking(5, 6)));
+
+        calendar.getBusyIntervals(1L, day(0), day(10));
+
+        assertEquals(List.of(interval(1, 3), interval(5, 6)), calendar.getBusyIntervals(1L, day(0), day(10)));
+    }
+
+    @Test
+    public void testGetBusyIntervals_LeastRecentlyUsedItemIsEvicted() {
+        mockFindApproved().thenReturn(List.of(booking(1, 3)));
+
+        calendar.getBusyIntervals(1L, day(0), day(10));
+        calendar.getBusyIntervals(2L, day(0), day(10));
+        calendar.getBusyIntervals(1L, day(0), day(10));
+        calendar.getBusyIntervals(3L, day(0), day(10));
+
+        assertEquals(2, calendar.size());
+
+        calendar.getBusyIntervals(1L, day(0), day(10));
+        calendar.getBusyIntervals(2L, day(0), day(10));
+
+        verify(bookingRepository, Mockito.times(1)).findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.eq(1L), Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+        verify(bookingRepository, Mockito.times(2)).findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.eq(2L), Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testGetBusyIntervals_PastPeriodIsNotCached() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findByItemIdAndStatusAndEndAfterAndStartBeforeOrderByStart(
+                Mockito.anyLong(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class),
+                Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of(booking(now.minusDays(3), now.minusDays(2))));
+
+        assertEquals(List.of(new TimeInterval(now.minusDays(3), now.minusDays(2))),
+                calendar.getBusyIntervals(1L, now.minusDays(4), now.minusDays(1)));
+        assertEquals(0, calendar.size());
+        verify(bookingRepository).findByItemIdAndStatusAndEndAfterAndStartBeforeOrderByStart(
+                1L, BookingStatus.APPROVED, now.minusDays(4), now.minusDays(1));
+    }
+
+    @Test
+    public void testGetBusyIntervals_EndedIntervalsAreDropped() {
+        LocalDateTime now = LocalDateTime.now();
+        mockFindApproved().thenReturn(List.of(
+                booking(now.minusDays(3), now.minusDays(2)),
+                booking(now.plusDays(1), now.plusDays(2))));
+
+        assertEquals(List.of(new TimeInterval(now.plusDays(1), now.plusDays(2))),
+                calendar.getBusyIntervals(1L, now, now.plusDays(3)));
+    }
+
+    private OngoingStubbing<List<Booking>> mockFindApproved() {
+        return when(bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.anyLong(), Mockito.anyCollection(), Mockito.any(LocalDateTime.class)));
+    }
+
+    private static Booking booking(long startDay, long endDay) {
+        return booking(day(startDay), day(endDay));
+    }
+
+    private static Booking booking(LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .status(BookingStatus.APPROVED)
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+    private static TimeInterval interval(long startDay, long endDay) {
+        return new TimeInterval(day(startDay), day(endDay));
+    }
+
+    private static LocalDateTime day(long days) {
+        return BASE.plusDays(days);
+    }
+}
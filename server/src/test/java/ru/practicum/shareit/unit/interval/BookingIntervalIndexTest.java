@@ -0,0 +1,208 @@
+package ru.practicum.shareit.unit.interval;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex intervalIndex;
+
+    private Item item;
+
+    private Booking existingBooking;
+
+    @BeforeEach
+    public void setUp() {
+        intervalIndex = new BookingIntervalIndex(bookingRepository, 2);
+
+        item = Item.builder()
+                .id(1L)
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+
+        existingBooking = Booking.builder()
+                .id(1L)
+                .item(item)
+                .status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(3))
+                .build();
+    }
+
+    @Test
+    public void testReserve_Success() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.anyLong(), Mockito.anyCollection(), Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of(existingBooking));
+
+        Booking booking = newBooking(LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4));
+        Booking savedBooking = intervalIndex.reserve(booking, b -> withId(b, 2L));
+
+        assertEquals(2L, savedBooking.getId());
+        verify(bookingRepository).findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.eq(1L),
+                Mockito.eq(List.of(BookingStatus.WAITING, BookingStatus.APPROVED)),
+                Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testReserve_Overlapping() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.anyLong(), Mockito.anyCollection(), Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of(existingBooking));
+
+        Booking booking = newBooking(LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(4));
+
+        assertThrows(BookingOverlapException.class, () -> intervalIndex.reserve(booking, b -> withId(b, 2L)));
+    }
+
+    @Test
+    public void testReserve_ReservedIntervalBlocksNextBooking() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.anyLong(), Mockito.anyCollection(), Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of());
+
+        Booking first = newBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3));
+        Booking second = newBooking(LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(4));
+
+        intervalIndex.reserve(first, b -> withId(b, 2L));
+
+        assertThrows(BookingOverlapException.class, () -> intervalIndex.reserve(second, b -> withId(b, 3L)));
+        verify(bookingRepository, Mockito.times(1)).findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.anyLong(), Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testRelease() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.anyLong(), Mockito.anyCollection(), Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of(existingBooking));
+
+        Booking booking = newBooking(LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(4));
+
+        assertThrows(BookingOverlapException.class, () -> intervalIndex.reserve(booking, b -> withId(b, 2L)));
+
+        intervalIndex.release(existingBooking);
+
+        assertEquals(2L, intervalIndex.reserve(booking, b -> withId(b, 2L)).getId());
+    }
+
+    @Test
+    public void testReserve_EndedIntervalsArePruned() {
+        Booking endedBooking = Booking.builder()
+                .id(3L)
+                .item(item)
+                .status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .build();
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.anyLong(), Mockito.anyCollection(), Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of(endedBooking, existingBooking));
+
+        Booking booking = newBooking(LocalDateTime.now().minusDays(3), LocalDateTime.now().plusHours(1));
+
+        assertEquals(2L, intervalIndex.reserve(booking, b -> withId(b, 2L)).getId());
+    }
+
+    @Test
+    public void testReserve_LeastRecentlyUsedItemIsEvicted() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.anyLong(), Mockito.anyCollection(), Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of());
+
+        intervalIndex.reserve(newBooking(1L, 1), b -> withId(b, 11L));
+        intervalIndex.reserve(newBooking(2L, 1), b -> withId(b, 12L));
+        intervalIndex.reserve(newBooking(1L, 2), b -> withId(b, 13L));
+        intervalIndex.reserve(newBooking(3L, 1), b -> withId(b, 14L));
+
+        assertEquals(2, intervalIndex.size());
+
+        intervalIndex.reserve(newBooking(1L, 3), b -> withId(b, 15L));
+        intervalIndex.reserve(newBooking(2L, 2), b -> withId(b, 16L));
+
+        verify(bookingRepository, Mockito.times(1)).findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.eq(1L), Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+        verify(bookingRepository, Mockito.times(2)).findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.eq(2L), Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testReserve_ItemWithUncommittedReservationIsNotEvicted() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStart(
+                Mockito.anyLong(), Mockito.anyCollection(), Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            intervalIndex.reserve(newBooking(1L, 1), b -> withId(b, 11L));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+
+            intervalIndex.reserve(newBooking(2L, 1), b -> withId(b, 12L));
+            intervalIndex.reserve(newBooking(3L, 1), b -> withId(b, 13L));
+
+            assertThrows(BookingOverlapException.class,
+                    () -> intervalIndex.reserve(newBooking(1L, 1), b -> withId(b, 14L)));
+
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            intervalIndex.reserve(newBooking(4L, 1), b -> withId(b, 15L));
+
+            assertEquals(2, intervalIndex.size());
+            verify(bookingRepository, Mockito.times(1)).findByItemIdAndStatusInAndEndAfterOrderByStart(
+                    Mockito.eq(1L), Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    private Booking newBooking(long itemId, long day) {
+        return Booking.builder()
+                .item(Item.builder().id(itemId).build())
+                .status(BookingStatus.WAITING)
+                .start(LocalDateTime.now().plusDays(day))
+                .end(LocalDateTime.now().plusDays(day).plusHours(1))
+                .build();
+    }
+
+    private Booking newBooking(LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(item)
+                .status(BookingStatus.WAITING)
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+    private static Booking withId(Booking booking, long id) {
+        booking.setId(id);
+        return booking;
+    }
+}
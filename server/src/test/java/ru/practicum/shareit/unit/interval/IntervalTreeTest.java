@@ -0,0 +1,97 @@
+package ru.practicum.shareit.unit.interval;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.interval.IntervalTree;
+
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntervalTreeTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private IntervalTree tree;
+
+    @BeforeEach
+    public void setUp() {
+        tree = new IntervalTree();
+        tree.add(1L, day(1), day(3));
+        tree.add(2L, day(5), day(6));
+        tree.add(3L, day(10), day(20));
+    }
+
+    @Test
+    public void testFindOverlapping() {
+        assertEquals(OptionalLong.of(1L), tree.findOverlapping(day(2), day(4)));
+        assertEquals(OptionalLong.of(3L), tree.findOverlapping(day(12), day(13)));
+        assertEquals(OptionalLong.of(3L), tree.findOverlapping(day(7), day(30)));
+    }
+
+    @Test
+    public void testFindOverlapping_AdjacentIntervalsDoNotOverlap() {
+        assertEquals(OptionalLong.empty(), tree.findOverlapping(day(3), day(5)));
+        assertEquals(OptionalLong.empty(), tree.findOverlapping(day(6), day(10)));
+        assertEquals(OptionalLong.empty(), tree.findOverlapping(day(20), day(21)));
+    }
+
+    @Test
+    public void testRemove() {
+        assertTrue(tree.remove(3L, day(10)));
+        assertFalse(tree.remove(3L, day(10)));
+        assertFalse(tree.remove(2L, day(1)));
+
+        assertEquals(OptionalLong.empty(), tree.findOverlapping(day(12), day(13)));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    public void testRemoveEndedBefore() {
+        assertEquals(0, tree.removeEndedBefore(day(2)));
+        assertEquals(2, tree.removeEndedBefore(day(6)));
+
+        assertEquals(1, tree.size());
+        assertEquals(OptionalLong.empty(), tree.findOverlapping(day(0), day(10)));
+        assertEquals(OptionalLong.of(3L), tree.findOverlapping(day(19), day(21)));
+    }
+
+    @Test
+    public void testRemoveEndedBefore_ManyIntervals() {
+        IntervalTree manyIntervals = new IntervalTree();
+        for (long i = 999; i >= 0; i--) {
+            manyIntervals.add(i, day(2 * i), day(2 * i + 1));
+        }
+
+        assertEquals(500, manyIntervals.removeEndedBefore(day(1000)));
+
+        assertEquals(500, manyIntervals.size());
+        assertEquals(OptionalLong.empty(), manyIntervals.findOverlapping(day(0), day(1000)));
+        assertEquals(OptionalLong.of(500L), manyIntervals.findOverlapping(day(1000), day(1001)));
+    }
+
+    @Test
+    public void testFindOverlapping_ManyIntervals() {
+        IntervalTree manyIntervals = new IntervalTree();
+        for (long i = 0; i < 1000; i++) {
+            manyIntervals.add(i, day(2 * i), day(2 * i + 1));
+        }
+
+        assertEquals(OptionalLong.of(500L), manyIntervals.findOverlapping(day(1000), day(1001)));
+        assertEquals(OptionalLong.empty(), manyIntervals.findOverlapping(day(1001), day(1002)));
+
+        for (long i = 0; i < 1000; i += 2) {
+            manyIntervals.remove(i, day(2 * i));
+        }
+
+        assertEquals(OptionalLong.empty(), manyIntervals.findOverlapping(day(1000), day(1001)));
+        assertEquals(OptionalLong.of(501L), manyIntervals.findOverlapping(day(1000), day(1003)));
+        assertEquals(500, manyIntervals.size());
+    }
+
+    private static LocalDateTime day(long days) {
+        return BASE.plusDays(days);
+    }
+}
@@ -1,16 +1,20 @@
 package ru.practicum.shareit.unit.mapper;
 
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.interval.TimeInterval;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtraInfoDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -137,4 +141,30 @@ public class ItemMapperTest {
         assertThat(dtos.get(0).getAvailable()).isEqualTo(item.getAvailable());
         assertThat(dtos.get(0).getRequestId()).isNull();
     }
+
+    @Test
+    public void testToItemAvailabilityDto() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+
+        ItemAvailability availability = ItemAvailability.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .busy(List.of(new TimeInterval(from.plusDays(2), from.plusDays(3))))
+                .free(List.of(new TimeInterval(from, from.plusDays(2)), new TimeInterval(from.plusDays(3), to)))
+                .build();
+
+        ItemAvailabilityDto dto = mapper.toDto(availability);
+
+        assertThat(dto.getItemId()).isEqualTo(1L);
+        assertThat(dto.getFrom()).isEqualTo(from);
+        assertThat(dto.getTo()).isEqualTo(to);
+        assertThat(dto.getBusy()).hasSize(1);
+        assertThat(dto.getBusy().get(0).getStart()).isEqualTo(from.plusDays(2));
+        assertThat(dto.getBusy().get(0).getEnd()).isEqualTo(from.plusDays(3));
+        assertThat(dto.getFree()).hasSize(2);
+        assertThat(dto.getFree().get(1).getStart()).isEqualTo(from.plusDays(3));
+        assertThat(dto.getFree().get(1).getEnd()).isEqualTo(to);
+    }
 }
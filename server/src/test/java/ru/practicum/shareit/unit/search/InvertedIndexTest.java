@@ -0,0 +1,68 @@
+package ru.practicum.shareit.unit.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.InvertedIndex;
+import ru.practicum.shareit.item.search.TextAnalyzer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvertedIndexTest {
+    private InvertedIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new InvertedIndex();
+        index.add(1L, "Drill", "Cordless drill with batteries");
+        index.add(2L, "Hammer", "Heavy hammer");
+        index.add(3L, "Drilling machine", "Stationary");
+    }
+
+    @Test
+    public void testScore_CaseInsensitiveAndStemmed() {
+        assertTrue(index.score(1L, TextAnalyzer.analyze("DRILLS")) > 0);
+        assertTrue(index.score(3L, TextAnalyzer.analyze("DRILLS")) > 0);
+        assertTrue(index.score(1L, TextAnalyzer.analyze("battery")) > 0);
+        assertEquals(0, index.score(2L, TextAnalyzer.analyze("DRILLS")));
+    }
+
+    @Test
+    public void testScore_BlankQuery() {
+        assertEquals(0, index.score(1L, TextAnalyzer.analyze(" ")));
+    }
+
+    @Test
+    public void testAdd_ReplacesPreviousTerms() {
+        index.add(2L, "Screwdriver", "Small");
+
+        assertEquals(0, index.score(2L, TextAnalyzer.analyze("hammer")));
+        assertTrue(index.score(2L, TextAnalyzer.analyze("screwdriver")) > 0);
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testRemove() {
+        index.remove(1L);
+        index.remove(42L);
+
+        assertEquals(0, index.score(1L, TextAnalyzer.analyze("drill")));
+        assertTrue(index.score(3L, TextAnalyzer.analyze("drill")) > 0);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testScore_NameWeightedHigher() {
+        index.add(4L, "Saw", "Saw for a drill");
+
+        double nameHit = index.score(1L, List.of("drill"));
+        double descriptionHit = index.score(4L, List.of("drill"));
+
+        assertTrue(nameHit > descriptionHit);
+        assertTrue(descriptionHit > 0);
+        assertEquals(0, index.score(2L, List.of("drill")));
+        assertEquals(0, index.score(42L, List.of("drill")));
+    }
+}
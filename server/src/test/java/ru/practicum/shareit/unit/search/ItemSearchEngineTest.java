@@ -0,0 +1,121 @@
+package ru.practicum.shareit.unit.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemSearchEngine searchEngine;
+
+    @BeforeEach
+    public void setUp() {
+        searchEngine.index(item(1L, "Bag", "Bag for a drill and a saw", true));
+        searchEngine.index(item(2L, "Drill", "Cordless drill", true));
+        searchEngine.index(item(3L, "Hammer drill", "Heavy", true));
+        searchEngine.index(item(4L, "Drill press", "Stationary", false));
+    }
+
+    @Test
+    public void testSearch_ExactSubstring() {
+        assertEquals(List.of(1L, 2L, 3L), searchEngine.search("rill"));
+        assertEquals(List.of(), searchEngine.search("press"));
+    }
+
+    @Test
+    public void testIndex_UnavailableItemIsRemoved() {
+        searchEngine.index(item(2L, "Drill", "Cordless drill", false));
+
+        assertEquals(List.of(1L, 3L), searchEngine.search("drill"));
+    }
+
+    @Test
+    public void testRank_NameHitsFirst() {
+        assertEquals(List.of(2L, 3L, 1L), searchEngine.rank("drill", 10));
+    }
+
+    @Test
+    public void testRank_KeepsTopK() {
+        assertEquals(List.of(2L, 3L), searchEngine.rank("drill", 2));
+        assertEquals(List.of(), searchEngine.rank("drill", 0));
+    }
+
+    @Test
+    public void testRank_SubstringOnlyMatches() {
+        assertEquals(List.of(2L, 3L, 1L), searchEngine.rank("rill", 10));
+    }
+
+    @Test
+    public void testRebuild_ReplaysUpdatesMadeDuringRebuild() {
+        when(itemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            searchEngine.index(item(5L, "Drill bit", "New", true));
+            searchEngine.index(item(2L, "Drill", "Cordless drill", false));
+            return new PageImpl<>(List.of(
+                    item(1L, "Bag", "Bag for a drill and a saw", true),
+                    item(2L, "Drill", "Cordless drill", true)));
+        });
+
+        searchEngine.rebuild();
+
+        assertEquals(List.of(1L, 5L), searchEngine.search("drill"));
+        searchEngine.index(item(6L, "Drill stand", "Steel", true));
+        assertEquals(List.of(1L, 5L, 6L), searchEngine.search("drill"));
+    }
+
+    @Test
+    public void testIndex_AppliedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchEngine.index(item(5L, "Drill bit", "New", true));
+
+            assertEquals(List.of(1L, 2L, 3L), searchEngine.search("drill"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(List.of(1L, 2L, 3L, 5L), searchEngine.search("drill"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testIndex_DiscardedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchEngine.index(item(2L, "Drill", "Cordless drill", false));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertEquals(List.of(1L, 2L, 3L), searchEngine.search("drill"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
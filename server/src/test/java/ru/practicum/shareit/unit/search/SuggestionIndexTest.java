@@ -0,0 +1,64 @@
+package ru.practicum.shareit.unit.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.SuggestionIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SuggestionIndexTest {
+    private SuggestionIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new SuggestionIndex();
+        index.add(1L, "Drill");
+        index.add(2L, "Drill press");
+        index.add(3L, "Dryer");
+        index.add(4L, "drill");
+    }
+
+    @Test
+    public void testSuggest_PopularNamesFirst() {
+        assertEquals(List.of("drill", "Drill press", "Dryer"), index.suggest("DR", 10));
+        assertEquals(List.of("drill", "Drill press"), index.suggest("dril", 10));
+    }
+
+    @Test
+    public void testSuggest_PrefixEndsInsideEdge() {
+        assertEquals(List.of("Drill press"), index.suggest("drill p", 10));
+        assertEquals(List.of("Dryer"), index.suggest("drye", 10));
+    }
+
+    @Test
+    public void testSuggest_NoCompletions() {
+        assertEquals(List.of(), index.suggest("drills", 10));
+        assertEquals(List.of(), index.suggest("hammer", 10));
+    }
+
+    @Test
+    public void testSuggest_Limit() {
+        assertEquals(List.of("drill"), index.suggest("d", 1));
+    }
+
+    @Test
+    public void testAdd_Rename() {
+        index.add(3L, "Hammer");
+
+        assertEquals(List.of("drill", "Drill press"), index.suggest("dr", 10));
+        assertEquals(List.of("Hammer"), index.suggest("h", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void testRemove() {
+        index.remove(4L);
+        index.remove(2L);
+
+        assertEquals(List.of("Drill", "Dryer"), index.suggest("dr", 10));
+        assertEquals(List.of(), index.suggest("drill p", 10));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.unit.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.TrigramIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrigramIndexTest {
+    private TrigramIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new TrigramIndex();
+        index.add(1L, "Drill", "Cordless drill");
+        index.add(2L, "Hammer", "Heavy hammer");
+        index.add(3L, "Grill", "Charcoal");
+    }
+
+    @Test
+    public void testSearch_SubstringOfWord() {
+        assertEquals(List.of(1L, 3L), index.search("RILL"));
+        assertEquals(List.of(1L), index.search("dri"));
+    }
+
+    @Test
+    public void testSearch_VerifiesCandidates() {
+        assertEquals(List.of(), index.search("drilled"));
+        assertEquals(List.of(), index.search("llird"));
+    }
+
+    @Test
+    public void testSearch_DoesNotMatchAcrossFields() {
+        assertEquals(List.of(), index.search("drillcordless"));
+        assertEquals(List.of(2L), index.search("heavy ham"));
+    }
+
+    @Test
+    public void testSearch_ShortQuery() {
+        assertEquals(List.of(1L, 3L), index.search("ll"));
+        assertEquals(List.of(1L, 2L, 3L), index.search(""));
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        index.add(3L, "Saw", "Hand saw");
+        index.remove(2L);
+        index.remove(42L);
+
+        assertEquals(List.of(1L), index.search("ill"));
+        assertEquals(List.of(), index.search("hammer"));
+        assertEquals(List.of(3L), index.search("saw"));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.unit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingArchiveJob;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingArchiveJobTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingArchiveJob archiveJob;
+
+    @BeforeEach
+    public void setUp() {
+        archiveJob = new BookingArchiveJob(bookingRepository, Duration.ofDays(30));
+    }
+
+    @Test
+    public void testArchive() {
+        when(bookingRepository.archiveEndedBefore(any())).thenReturn(5L);
+
+        archiveJob.archive();
+
+        ArgumentCaptor<LocalDateTime> endedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(bookingRepository).archiveEndedBefore(endedBefore.capture());
+        assertEquals(LocalDate.now().minusDays(30).atStartOfDay(), endedBefore.getValue());
+    }
+}
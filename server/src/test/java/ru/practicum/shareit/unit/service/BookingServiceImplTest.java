@@ -3,31 +3,47 @@ package ru.practicum.shareit.unit.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.interval.BookingCalendar;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSearch;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.common.utils.OffsetPageRequest;
 import ru.practicum.shareit.common.utils.PageableUtility;
 import ru.practicum.shareit.exception.AlreadyApprovedException;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.exception.UserWithoutAccessRightsException;
+import ru.practicum.shareit.exception.model.ErrorResponse;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,11 +62,22 @@ public class BookingServiceImplTest {
     @Mock
     private PageableUtility pageableUtility;
 
+    @Mock
+    private ItemBookingSummaryService summaryService;
+
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+
+    @Mock
+    private BookingCalendar bookingCalendar;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
     private Booking simpleBooking;
 
+    private BookingDto simpleBookingDto;
+
     private User simpleUser;
 
     private User otherOwner;
@@ -78,6 +105,12 @@ public class BookingServiceImplTest {
                 .item(simpleItem)
                 .build();
 
+        simpleBookingDto = BookingDto.builder()
+                .id(1L)
+                .start(simpleBooking.getStart())
+                .end(simpleBooking.getEnd())
+                .build();
+
         otherOwner = User.builder()
                 .id(2L)
                 .build();
@@ -145,6 +178,11 @@ public class BookingServiceImplTest {
                 .thenReturn(Optional.of(simpleItem));
         when(bookingRepository.save(Mockito.any(Booking.class)))
                 .thenReturn(simpleBooking);
+        when(intervalIndex.reserve(Mockito.any(Booking.class), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    UnaryOperator<Booking> save = invocation.getArgument(1);
+                    return save.apply(invocation.getArgument(0));
+                });
 
         Booking booking = bookingService.addBooking(simpleBooking, 1);
 
@@ -157,6 +195,23 @@ public class BookingServiceImplTest {
         verify(userRepository).findById(1L);
         verify(itemRepository).findById(1L);
         verify(bookingRepository).save(simpleBooking);
+        verify(intervalIndex).reserve(Mockito.eq(simpleBooking), Mockito.any());
+    }
+
+    @Test
+    public void testAddBooking_Overlapping() {
+        simpleItem.setOwner(otherOwner);
+        simpleItem.setAvailable(true);
+
+        when(userRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(simpleUser));
+        when(itemRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(simpleItem));
+        when(intervalIndex.reserve(Mockito.any(Booking.class), Mockito.any()))
+                .thenThrow(new BookingOverlapException(ErrorResponse.builder().build()));
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.addBooking(simpleBooking, 1));
+        verify(bookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
     }
 
     @Test
@@ -205,6 +260,8 @@ public class BookingServiceImplTest {
 
         assertEquals(booking.getStatus(), BookingStatus.APPROVED);
         verify(bookingRepository).findById(1L);
+        verify(summaryService).refresh(simpleItem.getId());
+        verify(bookingCalendar).invalidate(simpleItem.getId());
     }
 
     @Test
@@ -221,6 +278,8 @@ public class BookingServiceImplTest {
 
         assertEquals(booking.getStatus(), BookingStatus.REJECTED);
         verify(bookingRepository).findById(1L);
+        verify(summaryService, Mockito.never()).refresh(Mockito.anyLong());
+        verify(intervalIndex).release(simpleBooking);
     }
 
     @Test
@@ -283,150 +342,30 @@ public class BookingServiceImplTest {
         verify(userRepository).findById(1L);
     }
 
-    @Test
-    public void testGetUserBookings_AllSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
-
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findByBookerOrderByStartDesc(
-                Mockito.any(User.class), Mockito.any(Pageable.class))
-        ).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserBookings(1, BookingState.ALL, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findByBookerOrderByStartDesc(simpleUser, Pageable.unpaged());
-    }
-
-    @Test
-    public void testGetUserBookings_CurrentSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
-
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserBookings(1, BookingState.CURRENT, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        );
-    }
-
-    @Test
-    public void testGetUserBookings_PastSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
-
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findByBookerAndEndBeforeOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserBookings(1, BookingState.PAST, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findByBookerAndEndBeforeOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        );
-    }
-
-    @Test
-    public void testGetUserBookings_FutureSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
-
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findByBookerAndStartAfterOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserBookings(1, BookingState.FUTURE, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findByBookerAndStartAfterOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        );
-    }
-
-    @Test
-    public void testGetUserBookings_WaitingSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
-
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findByBookerAndStatusOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(BookingStatus.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserBookings(1, BookingState.WAITING, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findByBookerAndStatusOrderByStartDesc(
-                simpleUser,
-                BookingStatus.WAITING,
-                Pageable.unpaged()
-        );
-    }
-
-    @Test
-    public void testGetUserBookings_RejectedSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    public void testGetUserBookings_Success(BookingState state) {
+        List<BookingDto> bookings = List.of(simpleBookingDto);
 
         when(userRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(simpleUser));
         when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
                 .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findByBookerAndStatusOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(BookingStatus.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
+        when(bookingRepository.search(Mockito.any(BookingSearch.class)))
+                .thenReturn(bookings);
 
-        assertEquals(bookings, bookingService.getUserBookings(1, BookingState.REJECTED, null, null));
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(bookings, bookingService.getUserBookings(1, state, null, null));
 
         verify(userRepository).findById(1L);
         verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findByBookerAndStatusOrderByStartDesc(
-                simpleUser,
-                BookingStatus.REJECTED,
-                Pageable.unpaged()
-        );
+        BookingSearch search = captureSearch();
+        assertEquals(BookingSearch.Role.BOOKER, search.getRole());
+        assertEquals(1L, search.getUserId());
+        assertEquals(state, search.getState());
+        assertNull(search.getCursor());
+        assertEquals(Pageable.unpaged(), search.getPageable());
+        assertFalse(search.getNow().isBefore(before));
     }
 
     @Test
@@ -440,147 +379,76 @@ public class BookingServiceImplTest {
         verify(userRepository).findById(1L);
     }
 
-    @Test
-    public void testGetUserItemsBookings_AllSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    public void testGetUserItemsBookings_Success(BookingState state) {
+        List<BookingDto> bookings = List.of(simpleBookingDto);
 
         when(userRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findByItemOwnerOrderByStartDesc(
-                Mockito.any(User.class), Mockito.any(Pageable.class))
-        ).thenReturn(bookings);
+        when(pageableUtility.getPageableFromArguments(0, 2))
+                .thenReturn(OffsetPageRequest.of(0, 2));
+        when(bookingRepository.search(Mockito.any(BookingSearch.class)))
+                .thenReturn(bookings);
 
-        assertEquals(bookings, bookingService.getUserItemsBookings(1, BookingState.ALL, null, null));
+        assertEquals(bookings, bookingService.getUserItemsBookings(1, state, 0, 2));
 
         verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findByItemOwnerOrderByStartDesc(simpleUser, Pageable.unpaged());
+        verify(pageableUtility).getPageableFromArguments(0, 2);
+        BookingSearch search = captureSearch();
+        assertEquals(BookingSearch.Role.OWNER, search.getRole());
+        assertEquals(1L, search.getUserId());
+        assertEquals(state, search.getState());
+        assertNull(search.getCursor());
+        assertEquals(OffsetPageRequest.of(0, 2), search.getPageable());
     }
 
     @Test
-    public void testGetUserItemsBookings_CurrentSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
+    public void testGetUserBookingsAfter_AllSuccess() {
+        List<BookingDto> bookings = List.of(simpleBookingDto);
+        BookingCursor cursor = BookingCursor.first();
 
         when(userRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findCurrentByItemOwnerOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserItemsBookings(1, BookingState.CURRENT, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findCurrentByItemOwnerOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        );
+        when(pageableUtility.getLimitFromArgument(2))
+                .thenReturn(PageRequest.of(0, 2));
+        when(bookingRepository.search(Mockito.any(BookingSearch.class)))
+                .thenReturn(bookings);
+
+        assertEquals(bookings, bookingService.getUserBookingsAfter(1, BookingState.ALL, cursor, 2));
+
+        verify(pageableUtility).getLimitFromArgument(2);
+        BookingSearch search = captureSearch();
+        assertEquals(BookingSearch.Role.BOOKER, search.getRole());
+        assertEquals(BookingState.ALL, search.getState());
+        assertEquals(cursor, search.getCursor());
+        assertEquals(PageRequest.of(0, 2), search.getPageable());
     }
 
     @Test
-    public void testGetUserItemsBookings_PastSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
+    public void testGetUserItemsBookingsAfter_WaitingSuccess() {
+        List<BookingDto> bookings = List.of(simpleBookingDto);
+        BookingCursor cursor = BookingCursor.after(simpleBooking);
 
         when(userRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findPastByItemOwnerOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserItemsBookings(1, BookingState.PAST, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findPastByItemOwnerOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        );
+        when(pageableUtility.getLimitFromArgument(1))
+                .thenReturn(PageRequest.of(0, 1));
+        when(bookingRepository.search(Mockito.any(BookingSearch.class)))
+                .thenReturn(bookings);
+
+        assertEquals(bookings, bookingService.getUserItemsBookingsAfter(1, BookingState.WAITING, cursor, 1));
+
+        BookingSearch search = captureSearch();
+        assertEquals(BookingSearch.Role.OWNER, search.getRole());
+        assertEquals(BookingState.WAITING, search.getState());
+        assertEquals(cursor, search.getCursor());
+        assertEquals(PageRequest.of(0, 1), search.getPageable());
     }
 
-    @Test
-    public void testGetUserItemsBookings_FutureSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
-
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findFutureByItemOwnerOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserItemsBookings(1, BookingState.FUTURE, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findFutureByItemOwnerOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(LocalDateTime.class),
-                Mockito.any(Pageable.class)
-        );
-    }
-
-    @Test
-    public void testGetUserItemsBookings_WaitingSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
-
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findByItemOwnerAndStatusOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(BookingStatus.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserItemsBookings(1, BookingState.WAITING, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findByItemOwnerAndStatusOrderByStartDesc(
-                simpleUser,
-                BookingStatus.WAITING,
-                Pageable.unpaged()
-        );
-    }
-
-    @Test
-    public void testGetUserItemsBookings_RejectedSuccess() {
-        List<Booking> bookings = List.of(simpleBooking);
-
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
-        when(pageableUtility.getPageableFromArguments(Mockito.isNull(), Mockito.isNull()))
-                .thenReturn(Pageable.unpaged());
-        when(bookingRepository.findByItemOwnerAndStatusOrderByStartDesc(
-                Mockito.any(User.class),
-                Mockito.any(BookingStatus.class),
-                Mockito.any(Pageable.class)
-        )).thenReturn(bookings);
-
-        assertEquals(bookings, bookingService.getUserItemsBookings(1, BookingState.REJECTED, null, null));
-
-        verify(userRepository).findById(1L);
-        verify(pageableUtility).getPageableFromArguments(null, null);
-        verify(bookingRepository).findByItemOwnerAndStatusOrderByStartDesc(
-                simpleUser,
-                BookingStatus.REJECTED,
-                Pageable.unpaged()
-        );
+    private BookingSearch captureSearch() {
+        ArgumentCaptor<BookingSearch> search = ArgumentCaptor.forClass(BookingSearch.class);
+        verify(bookingRepository).search(search.capture());
+        return search.getValue();
     }
 }
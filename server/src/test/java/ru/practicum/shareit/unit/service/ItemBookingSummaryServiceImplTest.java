@@ -0,0 +1,148 @@
+package ru.practicum.shareit.unit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryServiceImpl;
+import ru.practicum.shareit.item.service.ItemBookingSummaryStore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemBookingSummaryServiceImplTest {
+    @Mock
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @Mock
+    private ItemBookingSummaryStore summaryStore;
+
+    @InjectMocks
+    private ItemBookingSummaryServiceImpl summaryService;
+
+    private Booking lastBooking;
+
+    private Booking nextBooking;
+
+    @BeforeEach
+    public void setUp() {
+        Item item = Item.builder()
+                .id(1L)
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+
+        lastBooking = Booking.builder()
+                .id(1L)
+                .item(item)
+                .status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .build();
+
+        nextBooking = Booking.builder()
+                .id(2L)
+                .item(item)
+                .status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().plusDays(2))
+                .end(LocalDateTime.now().plusDays(3))
+                .build();
+    }
+
+    @Test
+    public void testGetSummaries_Valid() {
+        ItemBookingSummary summary = ItemBookingSummary.builder()
+                .itemId(1L)
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
+                .validUntil(nextBooking.getStart())
+                .build();
+
+        when(summaryRepository.findByItemIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of(summary));
+
+        assertEquals(Map.of(1L, summary), summaryService.getSummaries(List.of(1L)));
+        verifyNoInteractions(summaryStore);
+    }
+
+    @Test
+    public void testGetSummaries_ExpiredAndMissingAreRecomputedAndStored() {
+        ItemBookingSummary expired = ItemBookingSummary.builder()
+                .itemId(1L)
+                .nextBooking(lastBooking)
+                .validUntil(lastBooking.getStart())
+                .build();
+        ItemBookingSummary recomputed = ItemBookingSummary.builder()
+                .itemId(1L)
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
+                .validUntil(nextBooking.getStart())
+                .build();
+        ItemBookingSummary created = ItemBookingSummary.builder()
+                .itemId(2L)
+                .build();
+
+        when(summaryRepository.findByItemIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of(expired));
+        when(summaryStore.compute(Mockito.anyCollection(), Mockito.any(LocalDateTime.class)))
+                .thenReturn(List.of(recomputed, created));
+
+        assertEquals(Map.of(1L, recomputed, 2L, created), summaryService.getSummaries(List.of(2L, 1L)));
+        verify(summaryStore).compute(Mockito.eq(List.of(1L, 2L)), Mockito.any(LocalDateTime.class));
+        verify(summaryStore, Mockito.timeout(1000)).storeStale(List.of(1L, 2L));
+    }
+
+    @Test
+    public void testGetSummaries_StoredAfterTransactionCompletion() {
+        when(summaryRepository.findByItemIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of());
+        when(summaryStore.compute(Mockito.anyCollection(), Mockito.any(LocalDateTime.class)))
+                .thenReturn(List.of(ItemBookingSummary.builder().itemId(1L).build()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            summaryService.getSummaries(List.of(1L));
+            summaryService.getSummaries(List.of(1L));
+
+            verify(summaryStore, Mockito.after(100).never()).storeStale(Mockito.anyCollection());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(summaryStore, Mockito.timeout(1000).times(1)).storeStale(List.of(1L));
+    }
+
+    @Test
+    public void testGetSummaries_Empty() {
+        assertEquals(Map.of(), summaryService.getSummaries(List.of()));
+        verify(summaryRepository, Mockito.never()).findByItemIdIn(Mockito.anyCollection());
+    }
+
+    @Test
+    public void testRefresh() {
+        summaryService.refresh(1L);
+
+        verify(summaryStore).refresh(1L);
+    }
+}
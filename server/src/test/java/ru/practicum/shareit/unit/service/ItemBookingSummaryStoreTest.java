@@ -0,0 +1,164 @@
+package ru.practicum.shareit.unit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryStore;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemBookingSummaryStoreTest {
+    @Mock
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemBookingSummaryStore summaryStore;
+
+    private Booking lastBooking;
+
+    private Booking nextBooking;
+
+    @BeforeEach
+    public void setUp() {
+        Item item = Item.builder()
+                .id(1L)
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+
+        lastBooking = Booking.builder()
+                .id(1L)
+                .item(item)
+                .status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .build();
+
+        nextBooking = Booking.builder()
+                .id(2L)
+                .item(item)
+                .status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().plusDays(2))
+                .end(LocalDateTime.now().plusDays(3))
+                .build();
+    }
+
+    @Test
+    public void testStoreStale_RecomputesAndStoresStaleSummaries() {
+        ItemBookingSummary expired = ItemBookingSummary.builder()
+                .itemId(1L)
+                .nextBooking(lastBooking)
+                .validUntil(lastBooking.getStart())
+                .build();
+        List<ItemBookingSummary> savedSummaries = mockSaveAll();
+        when(itemRepository.lockByIdIn(Mockito.anyCollection())).thenReturn(List.of(1L, 2L));
+        when(summaryRepository.findByItemIdIn(Mockito.anyCollection())).thenReturn(List.of(expired));
+        when(bookingRepository.findLastAndNextApprovedByItemIdIn(
+                Mockito.anyCollection(), Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of(lastBooking, nextBooking));
+
+        assertThat(summaryStore.storeStale(List.of(1L, 2L, 3L))).isEqualTo(2);
+
+        assertThat(savedSummaries).containsExactlyInAnyOrder(
+                ItemBookingSummary.builder()
+                        .itemId(1L)
+                        .lastBooking(lastBooking)
+                        .nextBooking(nextBooking)
+                        .validUntil(nextBooking.getStart())
+                        .build(),
+                ItemBookingSummary.builder()
+                        .itemId(2L)
+                        .build());
+        InOrder inOrder = Mockito.inOrder(itemRepository, summaryRepository, bookingRepository);
+        inOrder.verify(itemRepository).lockByIdIn(List.of(1L, 2L, 3L));
+        inOrder.verify(summaryRepository).findByItemIdIn(List.of(1L, 2L));
+        inOrder.verify(bookingRepository).findLastAndNextApprovedByItemIdIn(
+                Mockito.eq(List.of(1L, 2L)), Mockito.any(LocalDateTime.class));
+        inOrder.verify(summaryRepository).saveAll(Mockito.anyIterable());
+    }
+
+    @Test
+    public void testStoreStale_SummaryStoredConcurrentlyIsKept() {
+        ItemBookingSummary stored = ItemBookingSummary.builder()
+                .itemId(1L)
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
+                .validUntil(nextBooking.getStart())
+                .build();
+        when(itemRepository.lockByIdIn(Mockito.anyCollection())).thenReturn(List.of(1L));
+        when(summaryRepository.findByItemIdIn(Mockito.anyCollection())).thenReturn(List.of(stored));
+
+        assertThat(summaryStore.storeStale(List.of(1L))).isEqualTo(0);
+        verify(bookingRepository, Mockito.never())
+                .findLastAndNextApprovedByItemIdIn(Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+        verify(summaryRepository, Mockito.never()).saveAll(Mockito.anyIterable());
+    }
+
+    @Test
+    public void testRefresh() {
+        List<ItemBookingSummary> savedSummaries = mockSaveAll();
+        when(itemRepository.lockByIdIn(Mockito.anyCollection())).thenReturn(List.of(1L));
+        when(bookingRepository.findLastAndNextApprovedByItemIdIn(
+                Mockito.anyCollection(), Mockito.any(LocalDateTime.class))
+        ).thenReturn(List.of(lastBooking));
+
+        summaryStore.refresh(1L);
+
+        InOrder inOrder = Mockito.inOrder(itemRepository, bookingRepository, summaryRepository);
+        inOrder.verify(itemRepository).lockByIdIn(List.of(1L));
+        inOrder.verify(bookingRepository).findLastAndNextApprovedByItemIdIn(
+                Mockito.eq(List.of(1L)), Mockito.any(LocalDateTime.class));
+        inOrder.verify(summaryRepository).saveAll(Mockito.anyIterable());
+        assertThat(savedSummaries).containsExactly(ItemBookingSummary.builder()
+                .itemId(1L)
+                .lastBooking(lastBooking)
+                .build());
+    }
+
+    @Test
+    public void testRefresh_DeletedItem() {
+        when(itemRepository.lockByIdIn(Mockito.anyCollection())).thenReturn(List.of());
+
+        summaryStore.refresh(1L);
+
+        verifyNoInteractions(summaryRepository, bookingRepository);
+    }
+
+    private List<ItemBookingSummary> mockSaveAll() {
+        List<ItemBookingSummary> savedSummaries = new ArrayList<>();
+        when(summaryRepository.saveAll(Mockito.anyIterable()))
+                .thenAnswer(invocation -> {
+                    Iterable<ItemBookingSummary> summaries = invocation.getArgument(0);
+                    summaries.forEach(savedSummaries::add);
+                    return savedSummaries;
+                });
+        return savedSummaries;
+    }
+}
@@ -10,6 +10,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.common.utils.PageableUtility;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestView;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
@@ -17,10 +22,12 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +38,15 @@ public class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemRepository itemRepository;
+
     @Mock
     private PageableUtility pageableUtility;
 
+    @Mock
+    private ItemRequestMapper requestMapper;
+
     @InjectMocks
     private ItemRequestServiceImpl requestService;
 
@@ -116,51 +129,83 @@ public class ItemRequestServiceImplTest {
 
     @Test
     public void testGetUserRequests_UserDoesNotExist() {
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> requestService.getUserRequests(1));
-        verify(userRepository).findById(1L);
+        verify(userRepository).existsById(1L);
+        verifyNoInteractions(requestRepository, itemRepository);
     }
 
     @Test
-    public void testGetUserRequests_Success() {
-        List<ItemRequest> requests = List.of(simpleRequest, simpleRequest);
+    public void testGetUserRequests_NoRequests() {
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+        when(requestRepository.findViewsByUserId(Mockito.anyLong()))
+                .thenReturn(List.of());
+        when(requestMapper.toDtoList(List.of(), Map.of()))
+                .thenReturn(List.of());
+
+        assertEquals(List.of(), requestService.getUserRequests(1));
+        verify(requestRepository).findViewsByUserId(1L);
+        verifyNoInteractions(itemRepository);
+    }
 
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
-        when(requestRepository.findByUser(Mockito.any(User.class)))
-                .thenReturn(requests);
+    @Test
+    public void testGetUserRequests_Success() {
+        ItemRequestView view = Mockito.mock(ItemRequestView.class);
+        when(view.getId()).thenReturn(1L);
+        ItemDto item = ItemDto.builder().id(2L).requestId(1L).build();
+        List<ItemRequestDto> dtos = List.of(ItemRequestDto.builder().id(1L).items(List.of(item)).build());
 
-        assertEquals(requests, requestService.getUserRequests(1));
-        verify(userRepository).findById(1L);
-        verify(requestRepository).findByUser(simpleUser);
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+        when(requestRepository.findViewsByUserId(Mockito.anyLong()))
+                .thenReturn(List.of(view));
+        when(itemRepository.findDtosByRequestIdIn(List.of(1L)))
+                .thenReturn(List.of(item));
+        when(requestMapper.toDtoList(List.of(view), Map.of(1L, List.of(item))))
+                .thenReturn(dtos);
+
+        assertEquals(dtos, requestService.getUserRequests(1));
+        verify(userRepository).existsById(1L);
+        verify(requestRepository).findViewsByUserId(1L);
+        verify(itemRepository).findDtosByRequestIdIn(List.of(1L));
     }
 
     @Test
     public void testGetAllRequests_UserDoesNotExist() {
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> requestService.getAllRequests(0, 2, 2));
-        verify(userRepository).findById(2L);
+        verify(userRepository).existsById(2L);
+        verifyNoInteractions(requestRepository, itemRepository);
     }
 
     @Test
     public void testGetAllRequests_Success() {
-        List<ItemRequest> requests = List.of(simpleRequest, simpleRequest);
+        ItemRequestView view = Mockito.mock(ItemRequestView.class);
+        when(view.getId()).thenReturn(1L);
+        ItemDto item = ItemDto.builder().id(2L).requestId(1L).build();
+        List<ItemRequestDto> dtos = List.of(ItemRequestDto.builder().id(1L).items(List.of(item)).build());
 
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
         when(pageableUtility.getPageableFromArguments(Mockito.anyInt(), Mockito.anyInt()))
                 .thenReturn(Pageable.unpaged());
-        when(requestRepository.findByUserNot(Mockito.any(User.class), Mockito.any(Pageable.class)))
-                .thenReturn(requests);
+        when(requestRepository.findViewsByUserIdNot(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(view));
+        when(itemRepository.findDtosByRequestIdIn(List.of(1L)))
+                .thenReturn(List.of(item));
+        when(requestMapper.toDtoList(List.of(view), Map.of(1L, List.of(item))))
+                .thenReturn(dtos);
 
-        assertEquals(requests, requestService.getAllRequests(0, 2, 1));
+        assertEquals(dtos, requestService.getAllRequests(0, 2, 1));
 
-        verify(userRepository).findById(1L);
+        verify(userRepository).existsById(1L);
         verify(pageableUtility).getPageableFromArguments(0, 2);
-        verify(requestRepository).findByUserNot(simpleUser, Pageable.unpaged());
+        verify(requestRepository).findViewsByUserIdNot(1L, Pageable.unpaged());
+        verify(itemRepository).findDtosByRequestIdIn(List.of(1L));
     }
 }
@@ -7,7 +7,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.interval.BookingCalendar;
+import ru.practicum.shareit.booking.interval.TimeInterval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -15,12 +18,20 @@ import ru.practicum.shareit.common.utils.PageableUtility;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ItemWasNotBeRentedException;
 import ru.practicum.shareit.exception.UserWithoutAccessRightsException;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtraInfoDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchSort;
+import ru.practicum.shareit.item.search.SuggestionIndex;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -29,11 +40,13 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +72,15 @@ public class ItemServiceImplTest {
     @Mock
     private ItemMapper itemMapper;
 
+    @Mock
+    private ItemSearchEngine searchEngine;
+
+    @Mock
+    private ItemBookingSummaryService summaryService;
+
+    @Mock
+    private BookingCalendar bookingCalendar;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -139,6 +161,7 @@ public class ItemServiceImplTest {
         assertEquals(item.getOwner(), simpleUser);
         verify(userRepository).findById(1L);
         verify(itemRepository).save(simpleItem);
+        verify(searchEngine).index(simpleItem);
     }
 
     @Test
@@ -228,6 +251,7 @@ public class ItemServiceImplTest {
         verify(itemRepository).findById(1L);
         verify(userRepository).findById(1L);
         verify(itemRepository).save(simpleItem);
+        verify(searchEngine).index(simpleItem);
     }
 
     @Test
@@ -314,8 +338,11 @@ public class ItemServiceImplTest {
                 Mockito.nullable(Booking.class),
                 Mockito.anyList())
         ).thenReturn(extraInfoDto);
-        when(bookingRepository.findByItemAndStatus(Mockito.any(Item.class), Mockito.any(BookingStatus.class)))
-                .thenReturn(List.of(simpleBooking));
+        when(summaryService.getSummaries(Mockito.anyCollection()))
+                .thenReturn(Map.of(1L, ItemBookingSummary.builder()
+                        .itemId(1L)
+                        .lastBooking(simpleBooking)
+                        .build()));
 
         ItemExtraInfoDto dto = itemService.getItem(1, 1, itemMapper);
 
@@ -323,18 +350,18 @@ public class ItemServiceImplTest {
         verify(userRepository).existsById(1L);
         verify(itemRepository).findById(1L);
         verify(commentRepository).findByItem(simpleItem);
-        verify(bookingRepository).findByItemAndStatus(simpleItem, BookingStatus.APPROVED);
+        verify(summaryService).getSummaries(List.of(1L));
         verify(itemMapper).toDto(simpleItem, null, simpleBooking, List.of(simpleComment));
     }
 
     @Test
     public void testGetUserItems_UserDoesNotExists() {
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () ->
                 itemService.getUserItems(1, 0, 2, itemMapper));
-        verify(userRepository).findById(1L);
+        verify(userRepository).existsById(1L);
     }
 
     @Test
@@ -342,20 +369,25 @@ public class ItemServiceImplTest {
         simpleBooking.setStatus(BookingStatus.APPROVED);
         simpleBooking.setEnd(LocalDateTime.now().minusDays(2));
 
-        when(userRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(simpleUser));
+        ItemDto itemDto = ItemDto.builder().id(1L).name("item").build();
+        CommentView commentView = Mockito.mock(CommentView.class);
+        when(commentView.getItemId()).thenReturn(1L);
+
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
         when(pageableUtility.getPageableFromArguments(Mockito.anyInt(), Mockito.anyInt()))
                 .thenReturn(Pageable.unpaged());
-        when(itemRepository.findByOwnerOrderById(Mockito.any(User.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(simpleItem));
-        when(commentRepository.findByItemIn(Mockito.anyList()))
-                .thenReturn(List.of(simpleComment));
-        when(bookingRepository.findByItemInAndStatusOrderByItem(
-                Mockito.anyList(),
-                Mockito.any(BookingStatus.class))
-        ).thenReturn(List.of(simpleBooking));
-        when(itemMapper.toDto(
-                Mockito.any(Item.class),
+        when(itemRepository.findDtosByOwnerId(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(itemDto));
+        when(commentRepository.findViewsByItemIdIn(Mockito.anyList()))
+                .thenReturn(List.of(commentView));
+        when(summaryService.getSummaries(Mockito.anyCollection()))
+                .thenReturn(Map.of(1L, ItemBookingSummary.builder()
+                        .itemId(1L)
+                        .lastBooking(simpleBooking)
+                        .build()));
+        when(itemMapper.toExtraInfoDto(
+                Mockito.any(ItemDto.class),
                 Mockito.nullable(Booking.class),
                 Mockito.nullable(Booking.class),
                 Mockito.anyList())
@@ -364,26 +396,159 @@ public class ItemServiceImplTest {
         List<ItemExtraInfoDto> itemExtraInfoDtos = itemService.getUserItems(1, 0, 2, itemMapper);
         assertEquals(itemExtraInfoDtos, List.of(extraInfoDto));
 
-        verify(userRepository).findById(1L);
+        verify(userRepository).existsById(1L);
         verify(pageableUtility).getPageableFromArguments(0, 2);
-        verify(itemRepository).findByOwnerOrderById(simpleUser, Pageable.unpaged());
-        verify(commentRepository).findByItemIn(List.of(simpleItem));
-        verify(bookingRepository).findByItemInAndStatusOrderByItem(List.of(simpleItem), BookingStatus.APPROVED);
-        verify(itemMapper).toDto(simpleItem, null, simpleBooking, List.of(simpleComment));
+        verify(itemRepository).findDtosByOwnerId(1L, Pageable.unpaged());
+        verify(commentRepository).findViewsByItemIdIn(List.of(1L));
+        verify(summaryService).getSummaries(List.of(1L));
+        verify(itemMapper).toExtraInfoDto(itemDto, null, simpleBooking, List.of(commentView));
+    }
+
+    @Test
+    public void testGetUserItems_NoItems() {
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+        when(pageableUtility.getPageableFromArguments(Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(Pageable.unpaged());
+        when(itemRepository.findDtosByOwnerId(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertEquals(List.of(), itemService.getUserItems(1, 0, 2, itemMapper));
+        verifyNoInteractions(commentRepository, summaryService);
     }
 
     @Test
     public void testSearchItems_Success() {
+        ItemDto item = ItemDto.builder()
+                .id(1L)
+                .name("item")
+                .build();
+        ItemDto otherItem = ItemDto.builder()
+                .id(2L)
+                .name("other")
+                .build();
+
         when(pageableUtility.getPageableFromArguments(Mockito.anyInt(), Mockito.anyInt()))
                 .thenReturn(Pageable.unpaged());
-        when(itemRepository.searchByNameOrDescription(Mockito.anyString(), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(simpleItem));
+        when(searchEngine.search(Mockito.anyString()))
+                .thenReturn(List.of(2L, 1L));
+        when(itemRepository.findAvailableDtosByIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of(item, otherItem));
         when(userRepository.existsById(Mockito.anyLong()))
                 .thenReturn(true);
 
-        assertEquals(List.of(simpleItem), itemService.searchItems(1, "asd", 0, 2));
+        assertEquals(List.of(otherItem, item), itemService.searchItems(1, "asd", ItemSearchSort.ID, 0, 2));
         verify(pageableUtility).getPageableFromArguments(0, 2);
-        verify(itemRepository).searchByNameOrDescription("asd", Pageable.unpaged());
+        verify(searchEngine).search("asd");
+        verify(itemRepository).findAvailableDtosByIdIn(List.of(2L, 1L));
+    }
+
+    @Test
+    public void testSearchItems_Paged() {
+        when(pageableUtility.getPageableFromArguments(Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(PageRequest.of(1, 1));
+        when(searchEngine.search(Mockito.anyString()))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(itemRepository.findAvailableDtosByIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of(ItemDto.builder().id(2L).build()));
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+
+        assertEquals(1, itemService.searchItems(1, "asd", ItemSearchSort.ID, 1, 1).size());
+        verify(itemRepository).findAvailableDtosByIdIn(List.of(2L));
+    }
+
+    @Test
+    public void testSearchItems_ByRelevance() {
+        when(pageableUtility.getPageableFromArguments(Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(PageRequest.of(1, 2));
+        when(searchEngine.rank(Mockito.anyString(), Mockito.anyInt()))
+                .thenReturn(List.of(5L, 3L, 1L));
+        ItemDto item = ItemDto.builder()
+                .id(1L)
+                .build();
+        when(itemRepository.findAvailableDtosByIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of(item));
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+
+        assertEquals(List.of(item), itemService.searchItems(1, "asd", ItemSearchSort.RELEVANCE, 2, 2));
+        verify(searchEngine).rank("asd", 4);
+        verify(itemRepository).findAvailableDtosByIdIn(List.of(1L));
+    }
+
+    @Test
+    public void testSearchItems_NothingFound() {
+        when(pageableUtility.getPageableFromArguments(Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(Pageable.unpaged());
+        when(searchEngine.search(Mockito.anyString()))
+                .thenReturn(List.of());
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+
+        assertEquals(List.of(), itemService.searchItems(1, "asd", ItemSearchSort.ID, 0, 2));
+        verify(itemRepository, Mockito.never()).findAvailableDtosByIdIn(Mockito.anyCollection());
+    }
+
+    @Test
+    public void testGetItemAvailability_Success() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(10);
+        List<TimeInterval> busy = List.of(new TimeInterval(from.plusDays(2), from.plusDays(3)));
+        List<TimeInterval> free = List.of(
+                new TimeInterval(from, from.plusDays(2)),
+                new TimeInterval(from.plusDays(3), to)
+        );
+
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+        when(itemRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+        when(bookingCalendar.getBusyIntervals(Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenReturn(busy);
+        when(bookingCalendar.getFreeIntervals(Mockito.anyList(), Mockito.any(), Mockito.any()))
+                .thenReturn(free);
+
+        ItemAvailability availability = itemService.getItemAvailability(1, 2, from, to);
+
+        assertEquals(1L, availability.getItemId());
+        assertEquals(busy, availability.getBusy());
+        assertEquals(free, availability.getFree());
+        verify(bookingCalendar).getBusyIntervals(1L, from, to);
+        verify(bookingCalendar).getFreeIntervals(busy, from, to);
+    }
+
+    @Test
+    public void testGetItemAvailability_ItemDoesNotExist() {
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+        when(itemRepository.existsById(Mockito.anyLong()))
+                .thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.getItemAvailability(
+                1, 2, LocalDateTime.now(), LocalDateTime.now().plusDays(1)));
+        verify(bookingCalendar, Mockito.never())
+                .getBusyIntervals(Mockito.anyLong(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testSuggestItemNames_Success() {
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(true);
+        when(searchEngine.suggest(Mockito.anyString(), Mockito.anyInt()))
+                .thenReturn(List.of("Drill", "Drill press"));
+
+        assertEquals(List.of("Drill", "Drill press"), itemService.suggestItemNames(1, "dr"));
+        verify(searchEngine).suggest("dr", SuggestionIndex.MAX_SUGGESTIONS);
+    }
+
+    @Test
+    public void testSuggestItemNames_UserDoesNotExist() {
+        when(userRepository.existsById(Mockito.anyLong()))
+                .thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.suggestItemNames(1, "dr"));
+        verify(searchEngine, Mockito.never()).suggest(Mockito.anyString(), Mockito.anyInt());
     }
 
     @Test
@@ -7,6 +7,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.common.utils.OffsetPageRequest;
 import ru.practicum.shareit.common.utils.PageableUtility;
 import ru.practicum.shareit.exception.IllegalPageableArgumentsException;
 
@@ -45,6 +46,25 @@ public class PageableUtilityTest {
 
     @Test
     public void testGetPageableFromArguments_Success() {
-        assertEquals(pageableUtility.getPageableFromArguments(4, 2), PageRequest.of(2, 2));
+        assertEquals(pageableUtility.getPageableFromArguments(4, 2), OffsetPageRequest.of(4, 2));
+    }
+
+    @Test
+    public void testGetPageableFromArguments_OffsetNotMultipleOfSize() {
+        Pageable pageable = pageableUtility.getPageableFromArguments(5, 10);
+
+        assertEquals(5, pageable.getOffset());
+        assertEquals(10, pageable.getPageSize());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"null", "0", "-1"}, nullValues = "null")
+    public void testGetLimitFromArgument_FailArgument(Integer size) {
+        assertThrows(IllegalPageableArgumentsException.class, () -> pageableUtility.getLimitFromArgument(size));
+    }
+
+    @Test
+    public void testGetLimitFromArgument_Success() {
+        assertEquals(pageableUtility.getLimitFromArgument(5), PageRequest.of(0, 5));
     }
 }